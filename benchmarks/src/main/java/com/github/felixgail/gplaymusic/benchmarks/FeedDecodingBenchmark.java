@@ -0,0 +1,71 @@
+package com.github.felixgail.gplaymusic.benchmarks;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.model.PlaylistEntry;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.responses.ListResult;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of {@code trackfeed} and {@code plentryfeed} pages the way the Retrofit converter does it:
+ * from the UTF-8 response bytes through a reader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedDecodingBenchmark {
+  private final static Type TRACK_LIST = new TypeToken<ListResult<Track>>() {
+  }.getType();
+  private final static Type ENTRY_LIST = new TypeToken<ListResult<PlaylistEntry>>() {
+  }.getType();
+
+  @Param({"1000", "10000", "50000"})
+  public int size;
+
+  private Gson gson;
+  private byte[] trackFeed;
+  private byte[] entryFeed;
+
+  @Setup
+  public void setup() {
+    gson = GPlayMusic.createGsonBuilder().create();
+    trackFeed = Fixtures.trackFeed(size);
+    entryFeed = Fixtures.playlistEntryFeed(size);
+  }
+
+  @Benchmark
+  public ListResult<Track> trackFeed() {
+    return gson.fromJson(reader(trackFeed), TRACK_LIST);
+  }
+
+  @Benchmark
+  public ListResult<PlaylistEntry> playlistEntryFeed() {
+    return gson.fromJson(reader(entryFeed), ENTRY_LIST);
+  }
+
+  private static Reader reader(byte[] bytes) {
+    return new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,76 @@
+package com.github.felixgail.gplaymusic.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the recorded responses in {@code fixtures/} and expands them to feeds of arbitrary size.
+ */
+public final class Fixtures {
+  public final static String TRACK = "fixtures/track.json";
+  public final static String PLAYLIST_ENTRY = "fixtures/playlist_entry.json";
+  public final static String SEARCH_RESPONSE = "fixtures/search_response.json";
+  public final static String LISTEN_NOW_ITEMS = "fixtures/listennow_items.json";
+
+  private final static String TRACK_ID = "3f2c5d1e-7a8b-3c4d-9e0f-1a2b3c4d5e6f";
+  private final static String ENTRY_ID = "8d7f1c2e-4b3a-3e5d-a6c7-b8d9e0f1a2b3";
+
+  private Fixtures() {
+  }
+
+  public static String load(String resource) {
+    try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IllegalArgumentException("Missing fixture " + resource);
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return a {@code trackfeed} page with {@code size} copies of the recorded track, each with a unique id.
+   */
+  public static byte[] trackFeed(int size) {
+    return feed(load(TRACK), TRACK_ID, size);
+  }
+
+  /**
+   * @return a {@code plentryfeed} page with {@code size} copies of the recorded entry, each with a unique id.
+   */
+  public static byte[] playlistEntryFeed(int size) {
+    return feed(load(PLAYLIST_ENTRY), ENTRY_ID, size);
+  }
+
+  public static byte[] bytes(String resource) {
+    return load(resource).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] feed(String item, String id, int size) {
+    StringBuilder builder = new StringBuilder(item.length() * size + 128);
+    builder.append("{\"kind\":\"sj#feed\",\"nextPageToken\":\"KmsKYQpZ\",\"data\":{\"items\":[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append(item.replace(id, uniqueId(id, i)));
+    }
+    builder.append("]}}");
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String uniqueId(String id, int index) {
+    String suffix = String.format("%012x", index);
+    return id.substring(0, id.length() - suffix.length()) + suffix;
+  }
+}
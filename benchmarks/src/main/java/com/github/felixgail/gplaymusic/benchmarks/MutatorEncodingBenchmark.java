@@ -0,0 +1,92 @@
+package com.github.felixgail.gplaymusic.benchmarks;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.model.Playlist;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.requests.mutations.Mutation;
+import com.github.felixgail.gplaymusic.model.requests.mutations.MutationFactory;
+import com.github.felixgail.gplaymusic.model.requests.mutations.Mutator;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of a {@link Mutator} with chained playlist entry inserts, as sent by {@code Playlist#addTracks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutatorEncodingBenchmark {
+  @Param({"10", "1000"})
+  public int size;
+
+  private Gson gson;
+  private Playlist playlist;
+  private Track track;
+  private List<String> clientIDs;
+  private Mutator mutator;
+  private ByteArrayOutputStream out;
+
+  @Setup
+  public void setup() {
+    gson = GPlayMusic.createGsonBuilder().create();
+    playlist = gson.fromJson("{\"id\":\"5e6f7a8b-9c0d-4e1f-a2b3-c4d5e6f7a8b9\"}", Playlist.class);
+    track = gson.fromJson(Fixtures.load(Fixtures.TRACK), Track.class);
+    clientIDs = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      clientIDs.add(UUID.randomUUID().toString());
+    }
+    mutator = build();
+    out = new ByteArrayOutputStream(size * 512);
+  }
+
+  @Benchmark
+  public int encode() throws IOException {
+    return write(mutator);
+  }
+
+  @Benchmark
+  public int buildAndEncode() throws IOException {
+    return write(build());
+  }
+
+  private Mutator build() {
+    List<Mutation> mutations = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      mutations.add(MutationFactory.getInsertPlaylistEntryMutation(playlist, track,
+          i == 0 ? null : clientIDs.get(i - 1), clientIDs.get(i),
+          i == size - 1 ? null : clientIDs.get(i + 1)));
+    }
+    return new Mutator(mutations);
+  }
+
+  private int write(Mutator body) throws IOException {
+    out.reset();
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    gson.toJson(body, Mutator.class, gson.newJsonWriter(writer));
+    writer.flush();
+    return out.size();
+  }
+}
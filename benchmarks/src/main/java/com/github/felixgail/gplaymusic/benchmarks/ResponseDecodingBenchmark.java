@@ -0,0 +1,61 @@
+package com.github.felixgail.gplaymusic.benchmarks;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.model.listennow.ListListenNowItemResponse;
+import com.github.felixgail.gplaymusic.model.responses.SearchResponse;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of responses that go through custom deserializers:
+ * {@code query} ({@link com.github.felixgail.gplaymusic.util.deserializer.SearchResponseDeserializer}) and
+ * {@code listennow/getlistennowitems}
+ * ({@link com.github.felixgail.gplaymusic.util.deserializer.ListenNowItemDeserializer}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseDecodingBenchmark {
+  private Gson gson;
+  private byte[] searchResponse;
+  private byte[] listenNowItems;
+
+  @Setup
+  public void setup() {
+    gson = GPlayMusic.createGsonBuilder().create();
+    searchResponse = Fixtures.bytes(Fixtures.SEARCH_RESPONSE);
+    listenNowItems = Fixtures.bytes(Fixtures.LISTEN_NOW_ITEMS);
+  }
+
+  @Benchmark
+  public SearchResponse searchResponse() {
+    return gson.fromJson(reader(searchResponse), SearchResponse.class);
+  }
+
+  @Benchmark
+  public ListListenNowItemResponse listenNowItems() {
+    return gson.fromJson(reader(listenNowItems), ListListenNowItemResponse.class);
+  }
+
+  private static Reader reader(byte[] bytes) {
+    return new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,57 @@
+package com.github.felixgail.gplaymusic.benchmarks.load;
+
+import com.github.felixgail.gplaymusic.util.metrics.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies (in microseconds) and error counts per {@link Operation}, shared by all users.
+ */
+public class LoadStatistics {
+  private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+  private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+  private final LatencyHistogram total = new LatencyHistogram();
+
+  public LoadStatistics() {
+    for (Operation operation : Operation.values()) {
+      latencies.put(operation, new LatencyHistogram());
+      errors.put(operation, new AtomicLong());
+    }
+  }
+
+  void success(Operation operation, long micros) {
+    latencies.get(operation).record(micros);
+    total.record(micros);
+  }
+
+  void failure(Operation operation) {
+    errors.get(operation).incrementAndGet();
+  }
+
+  public LatencyHistogram getLatencies(Operation operation) {
+    return latencies.get(operation);
+  }
+
+  public LatencyHistogram getTotal() {
+    return total;
+  }
+
+  public long getErrors(Operation operation) {
+    return errors.get(operation).get();
+  }
+
+  public long getTotalErrors() {
+    return errors.values().stream().mapToLong(AtomicLong::get).sum();
+  }
+
+  /**
+   * Drops everything recorded so far, e.g. at the end of the warmup.
+   */
+  public void reset() {
+    latencies.values().forEach(LatencyHistogram::reset);
+    errors.values().forEach(count -> count.set(0));
+    total.reset();
+  }
+}
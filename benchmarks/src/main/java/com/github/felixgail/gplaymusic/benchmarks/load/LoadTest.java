@@ -0,0 +1,242 @@
+package com.github.felixgail.gplaymusic.benchmarks.load;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.api.GPlaySessionPool;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.util.metrics.LatencyHistogram;
+import svarzee.gps.gpsoauth.AuthToken;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@code users} concurrent sessions of one {@link GPlaySessionPool} against a {@link FakeGPlayServer}
+ * running in the same JVM and reports throughput, latency percentiles, allocation rate and thread counts.
+ * <br>
+ * Each user runs on its own thread and issues a weighted mix of {@link Operation}s without pause
+ * (unless {@code -think} is set). Results of the warmup are discarded.
+ * Allocation is measured on the user threads only, which excludes the fake server but includes all
+ * synchronous work of the client (OkHttp executes synchronous calls on the calling thread).
+ * Client threads are all threads except the ones of the fake server.
+ * <br>
+ * Run with {@code -help} to list the options.
+ */
+public class LoadTest {
+  private final static String SERVER_THREAD_PREFIX = "MockWebServer";
+  private final static Map<String, String> DEFAULTS = new HashMap<>();
+
+  static {
+    DEFAULTS.put("users", "50");
+    DEFAULTS.put("warmup", "10");
+    DEFAULTS.put("duration", "30");
+    DEFAULTS.put("think", "0");
+    DEFAULTS.put("mix", "40,20,20,20");
+    DEFAULTS.put("latency", "20");
+    DEFAULTS.put("jitter", "10");
+    DEFAULTS.put("errorRate", "0");
+    DEFAULTS.put("librarySize", "2000");
+    DEFAULTS.put("catalogSize", "10000");
+    DEFAULTS.put("playlists", "20");
+    DEFAULTS.put("entriesPerPlaylist", "50");
+    DEFAULTS.put("pageSize", "1000");
+    DEFAULTS.put("maxRequests", "64");
+  }
+
+  private final Map<String, String> options;
+  private final LoadStatistics statistics = new LoadStatistics();
+  private final List<Thread> userThreads = new ArrayList<>();
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private volatile int peakThreads;
+  private volatile int peakClientThreads;
+
+  public LoadTest(Map<String, String> options) {
+    this.options = new HashMap<>(DEFAULTS);
+    this.options.putAll(options);
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (int i = 0; i < args.length; i++) {
+      String name = args[i].replaceFirst("^-+", "");
+      if (name.equals("help") || !DEFAULTS.containsKey(name) || i + 1 >= args.length) {
+        printUsage(System.out);
+        return;
+      }
+      options.put(name, args[++i]);
+    }
+    new LoadTest(options).run(System.out);
+  }
+
+  private static void printUsage(PrintStream out) {
+    out.println("Options (-name value):");
+    DEFAULTS.keySet().stream().sorted()
+        .forEach(name -> out.printf("  -%-20s default: %s%n", name, DEFAULTS.get(name)));
+    out.println("mix: weights of " + Arrays.toString(Operation.values()));
+    out.println("latency, jitter: milliseconds added by the fake server per response");
+    out.println("maxRequests: maximum concurrent requests of the shared OkHttp dispatcher (per host)");
+  }
+
+  public void run(PrintStream out) throws IOException, InterruptedException {
+    int users = getInt("users");
+    FakeGPlayServer.Settings settings = new FakeGPlayServer.Settings()
+        .setLatencyMillis(getInt("latency"))
+        .setLatencyJitterMillis(getInt("jitter"))
+        .setErrorRate(Double.parseDouble(options.get("errorRate")))
+        .setLibrarySize(getInt("librarySize"))
+        .setCatalogSize(getInt("catalogSize"))
+        .setPlaylistCount(getInt("playlists"))
+        .setEntriesPerPlaylist(getInt("entriesPerPlaylist"))
+        .setPageSize(getInt("pageSize"));
+    int[] mix = Arrays.stream(options.get("mix").split(",")).mapToInt(w -> Integer.parseInt(w.trim())).toArray();
+    if (mix.length != Operation.values().length) {
+      throw new IllegalArgumentException("mix needs one weight per operation: " + Arrays.toString(Operation.values()));
+    }
+
+    ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "load-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try (FakeGPlayServer server = new FakeGPlayServer(settings)) {
+      server.start();
+      GPlaySessionPool pool = new GPlaySessionPool(FakeGPlayServer.newHttpClientBuilder(), 0,
+          server.getBaseUrl());
+      pool.getHttpClient().dispatcher().setMaxRequests(getInt("maxRequests"));
+      pool.getHttpClient().dispatcher().setMaxRequestsPerHost(getInt("maxRequests"));
+      List<SimulatedUser> simulated = new ArrayList<>(users);
+      for (int i = 0; i < users; i++) {
+        GPlayMusic session = pool.getSession("user-" + i, new AuthToken("fake-token-" + i), Locale.US,
+            FakeGPlayServer.ANDROID_ID);
+        SimulatedUser user = new SimulatedUser(session, statistics, mix, FakeGPlayServer.getSearchTerms(),
+            getInt("think"), i);
+        simulated.add(user);
+        Thread thread = new Thread(user, "load-user-" + i);
+        thread.setDaemon(true);
+        userThreads.add(thread);
+      }
+
+      monitor.scheduleAtFixedRate(this::sampleThreads, 0, 250, TimeUnit.MILLISECONDS);
+      out.printf("Starting %d users, warmup %ss, measurement %ss%n", users, options.get("warmup"),
+          options.get("duration"));
+      userThreads.forEach(Thread::start);
+      Thread.sleep(TimeUnit.SECONDS.toMillis(getInt("warmup")));
+
+      statistics.reset();
+      peakThreads = 0;
+      peakClientThreads = 0;
+      long allocatedBefore = allocatedBytes();
+      long gcCountBefore = gcCount();
+      long gcTimeBefore = gcTime();
+      int requestsBefore = server.getRequestCount();
+      long start = System.nanoTime();
+      Thread.sleep(TimeUnit.SECONDS.toMillis(getInt("duration")));
+      double seconds = (System.nanoTime() - start) / 1e9;
+      long allocated = allocatedBytes() - allocatedBefore;
+      int requests = server.getRequestCount() - requestsBefore;
+      Report report = new Report(seconds, allocated, requests, gcCount() - gcCountBefore,
+          gcTime() - gcTimeBefore);
+
+      simulated.forEach(SimulatedUser::stop);
+      for (Thread thread : userThreads) {
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+      }
+      pool.close();
+      report.print(out, users);
+    } finally {
+      monitor.shutdownNow();
+    }
+  }
+
+  private int getInt(String name) {
+    return Integer.parseInt(options.get(name));
+  }
+
+  private void sampleThreads() {
+    Set<Thread> live = Thread.getAllStackTraces().keySet();
+    int client = (int) live.stream().filter(thread -> !thread.getName().startsWith(SERVER_THREAD_PREFIX)).count();
+    peakThreads = Math.max(peakThreads, live.size());
+    peakClientThreads = Math.max(peakClientThreads, client);
+  }
+
+  /**
+   * @return bytes allocated by the user threads so far or -1 if the JVM does not support the measurement.
+   */
+  private long allocatedBytes() {
+    if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+      return -1;
+    }
+    com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+    if (!allocation.isThreadAllocatedMemorySupported() || !allocation.isThreadAllocatedMemoryEnabled()) {
+      return -1;
+    }
+    long[] ids = userThreads.stream().mapToLong(Thread::getId).toArray();
+    return Arrays.stream(allocation.getThreadAllocatedBytes(ids)).filter(bytes -> bytes > 0).sum();
+  }
+
+  private static long gcCount() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(count -> count > 0).sum();
+  }
+
+  private static long gcTime() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(time -> time > 0).sum();
+  }
+
+  private class Report {
+    private final double seconds;
+    private final long allocated;
+    private final int requests;
+    private final long gcCount;
+    private final long gcTime;
+
+    Report(double seconds, long allocated, int requests, long gcCount, long gcTime) {
+      this.seconds = seconds;
+      this.allocated = allocated;
+      this.requests = requests;
+      this.gcCount = gcCount;
+      this.gcTime = gcTime;
+    }
+
+    void print(PrintStream out, int users) {
+      LatencyHistogram total = statistics.getTotal();
+      out.printf("%nUsers: %d, measured %.1fs, %d http requests (%.1f/s)%n", users, seconds, requests,
+          requests / seconds);
+      out.printf("%-16s %10s %10s %8s %9s %9s %9s %9s %9s%n",
+          "operation", "ops", "ops/s", "errors", "mean ms", "p50 ms", "p99 ms", "p999 ms", "max ms");
+      for (Operation operation : Operation.values()) {
+        printLine(out, operation.name(), statistics.getLatencies(operation), statistics.getErrors(operation));
+      }
+      printLine(out, "TOTAL", total, statistics.getTotalErrors());
+      if (allocated < 0) {
+        out.println("Allocation: not supported by this JVM");
+      } else {
+        out.printf("Allocation (user threads): %.1f MB/s, %.1f KB/op%n", allocated / seconds / (1 << 20),
+            total.getCount() == 0 ? 0.0 : allocated / (double) total.getCount() / 1024);
+      }
+      out.printf("GC: %d collections, %d ms%n", gcCount, gcTime);
+      out.printf("Threads: %d live, peak %d (client peak %d, excluding fake server threads)%n",
+          threads.getThreadCount(), peakThreads, peakClientThreads);
+    }
+
+    private void printLine(PrintStream out, String name, LatencyHistogram histogram, long errors) {
+      out.printf("%-16s %10d %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getCount(),
+          histogram.getCount() / seconds, errors, histogram.getMean() / 1000,
+          histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+          histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMax() / 1000.0);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.github.felixgail.gplaymusic.benchmarks.load;
+
+/**
+ * Actions a {@link SimulatedUser} picks from.
+ */
+public enum Operation {
+  /**
+   * {@code GPlayMusic#searchTracks} with a random term.
+   */
+  SEARCH,
+  /**
+   * Lists the playlists and reads the entries of a random one.
+   */
+  PLAYLIST_OPEN,
+  /**
+   * Requests new tracks for a station, passing the last tracks as recently played.
+   */
+  STATION_REFILL,
+  /**
+   * Resolves the stream url of a track returned by an earlier search or station refill.
+   */
+  STREAM_URL
+}
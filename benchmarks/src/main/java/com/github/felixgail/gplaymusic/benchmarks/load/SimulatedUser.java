@@ -0,0 +1,125 @@
+package com.github.felixgail.gplaymusic.benchmarks.load;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.model.Playlist;
+import com.github.felixgail.gplaymusic.model.Station;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.enums.StreamQuality;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One session issuing a weighted random mix of {@link Operation}s until {@link #stop()} is called.
+ * Every user owns its session, so caches and recently played tracks are not shared between users.
+ */
+public class SimulatedUser implements Runnable {
+  private final static int SEARCH_RESULTS = 25;
+  private final static int STATION_TRACKS = 25;
+
+  private final GPlayMusic api;
+  private final LoadStatistics statistics;
+  private final int[] mix;
+  private final int mixTotal;
+  private final List<String> searchTerms;
+  private final long thinkTimeMillis;
+  private final Random random;
+  private volatile boolean running = true;
+
+  private List<Station> stations;
+  private List<Track> recentTracks = new ArrayList<>();
+
+  /**
+   * @param mix weights of the operations, in the order of {@link Operation#values()}.
+   */
+  public SimulatedUser(GPlayMusic api, LoadStatistics statistics, int[] mix, List<String> searchTerms,
+                       long thinkTimeMillis, long seed) {
+    this.api = api;
+    this.statistics = statistics;
+    this.mix = mix;
+    int sum = 0;
+    for (int weight : mix) {
+      sum += weight;
+    }
+    this.mixTotal = sum;
+    this.searchTerms = searchTerms;
+    this.thinkTimeMillis = thinkTimeMillis;
+    this.random = new Random(seed);
+  }
+
+  @Override
+  public void run() {
+    while (running && !Thread.currentThread().isInterrupted()) {
+      Operation operation = nextOperation();
+      long start = System.nanoTime();
+      try {
+        execute(operation);
+        statistics.success(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+      } catch (IOException | RuntimeException e) {
+        statistics.failure(operation);
+      }
+      if (thinkTimeMillis > 0) {
+        try {
+          Thread.sleep(thinkTimeMillis);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    }
+  }
+
+  public void stop() {
+    running = false;
+  }
+
+  private Operation nextOperation() {
+    int pick = random.nextInt(mixTotal);
+    for (int i = 0; i < mix.length; i++) {
+      pick -= mix[i];
+      if (pick < 0) {
+        return Operation.values()[i];
+      }
+    }
+    throw new IllegalStateException("Operation mix is empty");
+  }
+
+  private void execute(Operation operation) throws IOException {
+    switch (operation) {
+      case SEARCH:
+        remember(api.searchTracks(searchTerms.get(random.nextInt(searchTerms.size())), SEARCH_RESULTS));
+        break;
+      case PLAYLIST_OPEN:
+        List<Playlist> playlists = api.listPlaylists();
+        if (!playlists.isEmpty()) {
+          playlists.get(random.nextInt(playlists.size())).getContents(-1);
+        }
+        break;
+      case STATION_REFILL:
+        if (stations == null) {
+          stations = api.listStations();
+        }
+        if (!stations.isEmpty()) {
+          Station station = stations.get(random.nextInt(stations.size()));
+          remember(station.getTracks(recentTracks, true, false));
+        }
+        break;
+      case STREAM_URL:
+        if (recentTracks.isEmpty()) {
+          remember(api.searchTracks(searchTerms.get(random.nextInt(searchTerms.size())), SEARCH_RESULTS));
+        }
+        recentTracks.get(random.nextInt(recentTracks.size())).getStreamURL(StreamQuality.HIGH);
+        break;
+      default:
+        throw new IllegalArgumentException(operation.name());
+    }
+  }
+
+  private void remember(List<Track> tracks) {
+    if (!tracks.isEmpty()) {
+      recentTracks = tracks.size() > STATION_TRACKS ? tracks.subList(0, STATION_TRACKS) : tracks;
+    }
+  }
+}
@@ -1,10 +1,17 @@
 package com.github.felixgail.gplaymusic.api;
 
+import com.github.felixgail.gplaymusic.cache.CatalogCache;
+import com.github.felixgail.gplaymusic.cache.CatalogTrackCache;
+import com.github.felixgail.gplaymusic.cache.LibraryTrackCache;
+import com.github.felixgail.gplaymusic.cache.PrivatePlaylistEntriesCache;
 import com.github.felixgail.gplaymusic.exceptions.InitializationException;
 import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.model.Album;
+import com.github.felixgail.gplaymusic.model.Artist;
 import com.github.felixgail.gplaymusic.model.Config;
 import com.github.felixgail.gplaymusic.model.DeviceInfo;
 import com.github.felixgail.gplaymusic.model.Genre;
+import com.github.felixgail.gplaymusic.model.MutationResponse;
 import com.github.felixgail.gplaymusic.model.PagingHandler;
 import com.github.felixgail.gplaymusic.model.Playlist;
 import com.github.felixgail.gplaymusic.model.PlaylistEntry;
@@ -18,56 +25,108 @@ import com.github.felixgail.gplaymusic.model.listennow.ListenNowStation;
 import com.github.felixgail.gplaymusic.model.requests.PagingRequest;
 import com.github.felixgail.gplaymusic.model.requests.SearchTypes;
 import com.github.felixgail.gplaymusic.model.requests.TimeZoneOffset;
+import com.github.felixgail.gplaymusic.model.requests.mutations.MutationBatcher;
+import com.github.felixgail.gplaymusic.model.requests.mutations.MutationChunker;
 import com.github.felixgail.gplaymusic.model.requests.mutations.MutationFactory;
 import com.github.felixgail.gplaymusic.model.requests.mutations.Mutator;
 import com.github.felixgail.gplaymusic.model.responses.ListResult;
+import com.github.felixgail.gplaymusic.model.responses.QueryResult;
 import com.github.felixgail.gplaymusic.model.responses.Result;
 import com.github.felixgail.gplaymusic.model.responses.SearchResponse;
+import com.github.felixgail.gplaymusic.util.DaemonThreadFactory;
+import com.github.felixgail.gplaymusic.util.RateLimiter;
 import com.github.felixgail.gplaymusic.util.TokenProvider;
 import com.github.felixgail.gplaymusic.util.deserializer.ColorDeserializer;
 import com.github.felixgail.gplaymusic.util.deserializer.ConfigDeserializer;
 import com.github.felixgail.gplaymusic.util.deserializer.ListenNowStationDeserializer;
+import com.github.felixgail.gplaymusic.util.deserializer.ModelPostProcessor;
 import com.github.felixgail.gplaymusic.util.deserializer.ResultDeserializer;
+import com.github.felixgail.gplaymusic.util.deserializer.SearchResponseDeserializer;
 import com.github.felixgail.gplaymusic.util.interceptor.ErrorInterceptor;
+import com.github.felixgail.gplaymusic.util.interceptor.EventInterceptor;
 import com.github.felixgail.gplaymusic.util.interceptor.LoggingInterceptor;
 import com.github.felixgail.gplaymusic.util.interceptor.RequestInterceptor;
+import com.github.felixgail.gplaymusic.util.interceptor.SampledLoggingInterceptor;
+import com.github.felixgail.gplaymusic.util.metrics.MetricsInterceptor;
 import com.github.felixgail.gplaymusic.util.language.Language;
 import com.google.gson.GsonBuilder;
 import okhttp3.CipherSuite;
 import okhttp3.ConnectionSpec;
 import okhttp3.OkHttpClient;
 import okhttp3.TlsVersion;
+import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 import svarzee.gps.gpsoauth.AuthToken;
 
 import javax.validation.constraints.NotNull;
 import java.awt.Color;
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Stream;
 
 /**
  * The main API, wrapping calls to the service.
  * Use the {@link GPlayMusic.Builder} to create a new instance.
  */
-public final class GPlayMusic {
+public final class GPlayMusic implements Closeable {
+  public final static int DEFAULT_SEARCH_PARALLELISM = 4;
+  public final static int DEFAULT_FETCH_PARALLELISM = 4;
+  private final static int EXECUTOR_THREADS = 4;
   private static GPlayMusic instance;
   private GPlayService service;
-  private Config config;
+  private volatile Config config;
   private RequestInterceptor interceptor;
+  private ScheduledExecutorService executor;
+  private final boolean sharedExecutor;
+  private final Map<String, MutationBatcher> mutationBatchers = new ConcurrentHashMap<>();
+  private final LibraryTrackCache trackCache;
+  private final PrivatePlaylistEntriesCache playlistEntryCache;
+  private final CatalogTrackCache catalogTrackCache = new CatalogTrackCache(CatalogTrackCache.DEFAULT_CAPACITY);
+  private final CatalogCache<Album> catalogAlbumCache = new CatalogCache<>(CatalogCache.DEFAULT_CAPACITY);
+  private final CatalogCache<Artist> catalogArtistCache = new CatalogCache<>(CatalogCache.DEFAULT_CAPACITY);
 
   private GPlayMusic(GPlayService service, RequestInterceptor interceptor) {
+    this(service, interceptor, null);
+    instance = this;
+  }
+
+  /**
+   * Creates an instance that is not registered as {@link #getApiInstance()}.
+   *
+   * @param executor executor shared with other instances, or null if the instance should create its own.
+   *                 A shared executor is not shut down by {@link #close()}.
+   */
+  GPlayMusic(GPlayService service, RequestInterceptor interceptor, ScheduledExecutorService executor) {
     this.service = service;
     this.interceptor = interceptor;
-    instance = this;
+    this.executor = executor;
+    this.sharedExecutor = executor != null;
+    this.trackCache = new LibraryTrackCache(this);
+    this.playlistEntryCache = new PrivatePlaylistEntriesCache(this);
   }
 
   /**
+   * Models returned by an instance are bound to it (see {@link com.github.felixgail.gplaymusic.model.Model}),
+   * so this method is only needed for static lookups like {@link Track#getTrack(String)}.
+   * Prefer their overloads taking an api instance when working with multiple instances.
+   *
    * @return Returns the last initiated api instance or a {@link InitializationException} if none was initialized.
    */
   public static GPlayMusic getApiInstance() {
@@ -85,6 +144,55 @@ public final class GPlayMusic {
     this.config = config;
   }
 
+  /**
+   * Library tracks can only be fetched as whole. To shorten wait times, collected songs are cached per instance.
+   * Please consider updating the cache (asynchronously) when using the library over a long period of time, or when
+   * new songs could be added to the library during runtime.
+   * <br>
+   * If outside access to the library is expected during runtime, disabling caching via
+   * {@link LibraryTrackCache#setUseCache(boolean)} should also be considered.
+   */
+  public LibraryTrackCache getTrackCache() {
+    return trackCache;
+  }
+
+  /**
+   * {@link PlaylistEntry}s from private Playlists can only be fetched as whole.
+   * To shorten wait times, collected entries are cached per instance.
+   * Please consider updating the cache (asynchronously) when using the api over a long period of time, or when
+   * new entries could be added to the playlists during runtime.
+   * <br>
+   * If outside access to the library is expected during runtime, disabling caching via
+   * {@link PrivatePlaylistEntriesCache#setUseCache(boolean)} should also be considered.
+   */
+  public PrivatePlaylistEntriesCache getPlaylistEntryCache() {
+    return playlistEntryCache;
+  }
+
+  /**
+   * Store tracks recently returned by {@link #search(String, int, SearchTypes)} and {@link Track#getTrack(GPlayMusic,
+   * String)}. Used to resolve tracks without server calls, e.g. by {@link com.github.felixgail.gplaymusic.util.TrackResolver}.
+   */
+  public CatalogTrackCache getCatalogTrackCache() {
+    return catalogTrackCache;
+  }
+
+  /**
+   * Store albums recently fetched by {@link Album#getAlbum(GPlayMusic, String, boolean)} and
+   * {@link #fetchAlbums(Collection, boolean)}.
+   */
+  public CatalogCache<Album> getCatalogAlbumCache() {
+    return catalogAlbumCache;
+  }
+
+  /**
+   * Store artists recently fetched by {@link Artist#getArtist(GPlayMusic, String, boolean, int, int)} and
+   * {@link #fetchArtists(Collection, boolean, int, int)}.
+   */
+  public CatalogCache<Artist> getCatalogArtistCache() {
+    return catalogArtistCache;
+  }
+
   /**
    * This method will return the service used to make calls to google play, and therefore allows for
    * low level and asynchronous calls. Be sure to check the response for error codes.
@@ -95,6 +203,192 @@ public final class GPlayMusic {
     return this.service;
   }
 
+  /**
+   * Returns the executor used by this instance for background work like delayed or parallel batch calls.
+   * It is created on first use and consists of daemon threads.
+   */
+  public synchronized ScheduledExecutorService getExecutorService() {
+    if (executor == null) {
+      executor = Executors.newScheduledThreadPool(EXECUTOR_THREADS, new DaemonThreadFactory("gplaymusic"));
+    }
+    return executor;
+  }
+
+  /**
+   * Returns the {@link MutationBatcher} for a batch url like {@link PlaylistEntry#BATCH_URL},
+   * {@link Playlist#BATCH_URL} or {@link Station#BATCH_URL}.
+   * Mutations submitted to it by any caller are combined into as few batch calls as possible.
+   */
+  public MutationBatcher getMutationBatcher(String batchUrl) {
+    return mutationBatchers.computeIfAbsent(batchUrl,
+        url -> new MutationBatcher(service, url, getExecutorService()));
+  }
+
+  /**
+   * Sends the mutations of a possibly huge {@link Mutator} in chunks of {@link MutationChunker#DEFAULT_CHUNK_SIZE}.
+   * Independent chunks are sent concurrently. Unlike {@link GPlayService#makeBatchCall(String, Mutator)} this
+   * method does not throw on failed mutations, but reports them per item.
+   *
+   * @param batchUrl batch url like {@link PlaylistEntry#BATCH_URL}
+   * @param mutator  mutations to send
+   * @return the merged response containing one item per mutation. Check {@link MutationResponse#getFailedItems()}.
+   */
+  public MutationResponse makeChunkedBatchCall(String batchUrl, Mutator mutator) {
+    return new MutationChunker(service, batchUrl, getExecutorService()).execute(mutator);
+  }
+
+  /**
+   * Sends all mutations still queued in a {@link MutationBatcher} and stops the background executor.
+   */
+  @Override
+  public void close() {
+    mutationBatchers.values().forEach(batcher -> batcher.flush().join());
+    mutationBatchers.clear();
+    synchronized (this) {
+      if (executor != null && !sharedExecutor) {
+        executor.shutdown();
+        executor = null;
+      }
+    }
+  }
+
+  /**
+   * Fetches the config of the account and sets up the locale and android id.
+   * Called once while building an instance. Config and registered devices are requested concurrently.
+   *
+   * @param androidID android id used for streaming or null if a registered android device should be used.
+   * @return a future completed with this instance once it is ready to use.
+   */
+  CompletableFuture<GPlayMusic> initializeAsync(Locale locale, String androidID) {
+    interceptor.addParameter("dv", "0")
+        .addParameter("hl", locale.toString());
+    CompletableFuture<Config> configFuture = fetchConfig(locale);
+    CompletableFuture<String> androidIDFuture = androidID != null
+        ? CompletableFuture.completedFuture(androidID) : fetchAndroidID();
+    return configFuture.thenCombine(androidIDFuture, (config, id) -> {
+      config.setAndroidID(id);
+      applyConfig(config);
+      return this;
+    });
+  }
+
+  /**
+   * Blocking variant of {@link #initializeAsync(Locale, String)}.
+   */
+  void initialize(Locale locale, String androidID) throws IOException {
+    join(initializeAsync(locale, androidID));
+  }
+
+  /**
+   * Sets up this instance from a config of a previous session without waiting for the network.
+   * The config is refreshed in the background (see {@link #refreshConfig()}).
+   *
+   * @param snapshot config containing an android id.
+   */
+  void initialize(Config snapshot) {
+    interceptor.addParameter("dv", "0")
+        .addParameter("hl", snapshot.getLocale().toString());
+    applyConfig(snapshot);
+    refreshConfig();
+  }
+
+  /**
+   * Fetches the config of the account again, e.g. to pick up subscription changes.
+   * The android id and locale of the current config are kept.
+   * The current config stays in place if the request fails.
+   *
+   * @return a future completed with the new config.
+   */
+  public CompletableFuture<Config> refreshConfig() {
+    Config current = getConfig();
+    return fetchConfig(current.getLocale()).thenApply(config -> {
+      config.setAndroidID(current.getAndroidID());
+      applyConfig(config);
+      return config;
+    });
+  }
+
+  private void applyConfig(Config config) {
+    Language.setLocale(config.getLocale());
+    interceptor.addParameter("tier", config.getSubscription().getValue());
+    setConfig(config);
+  }
+
+  private CompletableFuture<Config> fetchConfig(Locale locale) {
+    return enqueue(getService().config(locale)).thenApply(response -> {
+      if (!response.isSuccessful()) {
+        throw new InitializationException(Language.get("network.GenericError"),
+            NetworkException.parse(response.raw()));
+      }
+      Config config = response.body();
+      if (config == null) {
+        throw new InitializationException(Language.get("api.init.EmptyConfig"));
+      }
+      config.setLocale(locale);
+      return config;
+    });
+  }
+
+  private CompletableFuture<String> fetchAndroidID() {
+    return enqueue(getService().getDevices()).thenApply(response -> {
+      ListResult<DeviceInfo> devices = response.body();
+      if (devices == null) {
+        throw new InitializationException(new NetworkException(response.code(), response.message()));
+      }
+      return devices.toList().stream()
+          .filter(deviceInfo -> (deviceInfo.getType().equals("ANDROID")))
+          .findFirst()
+          .map(DeviceInfo::getId)
+          .orElseThrow(() -> new InitializationException(Language.get("api.init.NoAndroidId")));
+    });
+  }
+
+  private static <T> CompletableFuture<retrofit2.Response<T>> enqueue(Call<T> call) {
+    CompletableFuture<retrofit2.Response<T>> future = new CompletableFuture<>();
+    call.enqueue(new Callback<T>() {
+      @Override
+      public void onResponse(Call<T> call, retrofit2.Response<T> response) {
+        future.complete(response);
+      }
+
+      @Override
+      public void onFailure(Call<T> call, Throwable t) {
+        future.completeExceptionally(t);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Waits for a future and rethrows the cause of a failure.
+   */
+  static <T> T join(CompletableFuture<T> future) throws IOException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Creates a {@link GsonBuilder} with all type adapters needed to parse responses of the service.
+   * Models parsed with it are not bound to an api instance, see {@link com.github.felixgail.gplaymusic.model.Model}.
+   */
+  public static GsonBuilder createGsonBuilder() {
+    return new GsonBuilder()
+        .registerTypeAdapter(Result.class, new ResultDeserializer())
+        .registerTypeAdapter(SearchResponse.class, new SearchResponseDeserializer())
+        .registerTypeAdapter(Config.class, new ConfigDeserializer())
+        .registerTypeAdapter(ListenNowStation.class, new ListenNowStationDeserializer())
+        .registerTypeAdapter(Color.class, new ColorDeserializer());
+  }
+
   /**
    * Queries Google Play Music for content.
    * Content can be every combination of {@link SearchTypes} enum.
@@ -108,7 +402,145 @@ public final class GPlayMusic {
    */
   public SearchResponse search(String query, int maxResults, SearchTypes types)
       throws IOException {
-    return getService().search(query, maxResults, types).execute().body();
+    SearchResponse response = getService().search(query, maxResults, types).execute().body();
+    if (response != null) {
+      catalogTrackCache.add(response.getTracks());
+    }
+    return response;
+  }
+
+  /**
+   * Same as {@link #searchAll(Collection, SearchTypes, int, int, RateLimiter)} with
+   * {@link #DEFAULT_SEARCH_PARALLELISM} and no rate limit.
+   */
+  public Stream<QueryResult> searchAll(Collection<String> queries, SearchTypes types, int maxResults) {
+    return searchAll(queries, types, maxResults, DEFAULT_SEARCH_PARALLELISM, null);
+  }
+
+  /**
+   * Runs many searches concurrently. Identical queries are only sent once.
+   * <br>
+   * Results are streamed in the order the searches complete, one {@link QueryResult} per distinct query.
+   * Failed searches do not end the stream but are reported by their result.
+   * Consuming the stream blocks until the next search completes. Closing it stops all searches that have not been
+   * sent yet, so use try-with-resources if the stream might not be consumed completely.
+   *
+   * @param queries     queries to search for
+   * @param types       content types that should be queried for
+   * @param maxResults  limits the results of each query
+   * @param parallelism maximum amount of concurrent searches
+   * @param rateLimiter limiter each search has to pass before it is sent or null for no limit
+   */
+  public Stream<QueryResult> searchAll(Collection<String> queries, SearchTypes types, int maxResults,
+                                       int parallelism, RateLimiter rateLimiter) {
+    return new ParallelSearch(this, queries, types, maxResults, parallelism, rateLimiter).stream();
+  }
+
+  /**
+   * Fetches many tracks at once. Identical ids are only fetched once.
+   * <br>
+   * Store tracks found in the {@link #getCatalogTrackCache()} are not requested again, the others are fetched
+   * concurrently by up to {@link #DEFAULT_FETCH_PARALLELISM} requests. Library tracks are looked up in the
+   * {@link #getTrackCache()}.
+   *
+   * @param ids store or library track ids
+   * @return the tracks keyed by id, in the order of {@code ids}. Ids that were not found are missing.
+   * @throws IOException if a fetch failed for another reason than an unknown id. Thrown after all fetches
+   *                     completed.
+   */
+  public Map<String, Track> fetchTracks(Collection<String> ids) throws IOException {
+    Map<String, Track> found = new LinkedHashMap<>();
+    Collection<String> misses = new ArrayList<>();
+    for (String id : new LinkedHashSet<>(ids)) {
+      if (id.startsWith("T")) {
+        Optional<Track> cached = catalogTrackCache.get(id);
+        if (cached.isPresent()) {
+          found.put(id, cached.get());
+        } else {
+          misses.add(id);
+        }
+      } else {
+        trackCache.find(id).ifPresent(track -> found.put(id, track));
+      }
+    }
+    found.putAll(ParallelFetch.fetchAll(misses, DEFAULT_FETCH_PARALLELISM, id -> {
+      Track track = service.fetchTrack(id).execute().body();
+      if (track != null) {
+        catalogTrackCache.add(track);
+      }
+      return track;
+    }));
+    return inOrder(ids, found);
+  }
+
+  /**
+   * Fetches many albums at once, the same way {@link #fetchTracks(Collection)} does.
+   * Cached albums are only used if they contain tracks or none were requested.
+   *
+   * @param ids           store album ids
+   * @param includeTracks whether the albums should contain their tracks
+   * @return the albums keyed by id, in the order of {@code ids}. Ids that were not found are missing.
+   * @throws IOException if a fetch failed for another reason than an unknown id
+   */
+  public Map<String, Album> fetchAlbums(Collection<String> ids, boolean includeTracks) throws IOException {
+    Map<String, Album> found = new LinkedHashMap<>();
+    Collection<String> misses = new ArrayList<>();
+    for (String id : new LinkedHashSet<>(ids)) {
+      Optional<Album> cached = catalogAlbumCache.get(id)
+          .filter(album -> !includeTracks || album.getTracks().isPresent());
+      if (cached.isPresent()) {
+        found.put(id, cached.get());
+      } else {
+        misses.add(id);
+      }
+    }
+    found.putAll(ParallelFetch.fetchAll(misses, DEFAULT_FETCH_PARALLELISM,
+        id -> Album.getAlbum(this, id, includeTracks)));
+    return inOrder(ids, found);
+  }
+
+  /**
+   * Fetches many artists at once, the same way {@link #fetchTracks(Collection)} does.
+   * Cached artists are only used if they contain all requested albums, top tracks and related artists.
+   *
+   * @param ids           store artist ids
+   * @param includeAlbums whether the artists should contain their albums
+   * @param numTopTracks  amount of top tracks per artist
+   * @param numRelArtist  amount of related artists per artist
+   * @return the artists keyed by id, in the order of {@code ids}. Ids that were not found are missing.
+   * @throws IOException if a fetch failed for another reason than an unknown id
+   */
+  public Map<String, Artist> fetchArtists(Collection<String> ids, boolean includeAlbums, int numTopTracks,
+                                          int numRelArtist) throws IOException {
+    Map<String, Artist> found = new LinkedHashMap<>();
+    Collection<String> misses = new ArrayList<>();
+    for (String id : new LinkedHashSet<>(ids)) {
+      Optional<Artist> cached = catalogArtistCache.get(id)
+          .filter(artist -> !includeAlbums || artist.getAlbums().isPresent())
+          .filter(artist -> numTopTracks <= 0 || artist.getTopTracks()
+              .map(tracks -> tracks.size() >= numTopTracks).orElse(false))
+          .filter(artist -> numRelArtist <= 0 || artist.getRelatedArtists()
+              .map(related -> related.size() >= numRelArtist).orElse(false));
+      if (cached.isPresent()) {
+        found.put(id, cached.get());
+      } else {
+        misses.add(id);
+      }
+    }
+    found.putAll(ParallelFetch.fetchAll(misses, DEFAULT_FETCH_PARALLELISM,
+        id -> Artist.getArtist(this, id, includeAlbums, numTopTracks, numRelArtist)));
+    return inOrder(ids, found);
+  }
+
+  private static <T> Map<String, T> inOrder(Collection<String> ids, Map<String, T> found) {
+    Map<String, T> ordered = new LinkedHashMap<>();
+    for (String id : ids) {
+      T item = found.get(id);
+      if (item != null) {
+        ordered.put(id, item);
+      }
+    }
+    return ordered;
   }
 
   /**
@@ -125,6 +557,7 @@ public final class GPlayMusic {
    * the content types to Tracks only.
    *
    * @return Returns a list of tracks returned by the google play service.
+   * @see LibraryTrackCache#search(String, int) for searching the library without a server call.
    */
   public List<Track> searchTracks(String query, int maxResults)
       throws IOException {
@@ -171,10 +604,21 @@ public final class GPlayMusic {
    * @param entries list of playlist entries to be deleted
    */
   public void deletePlaylistEntries(Collection<PlaylistEntry> entries) throws IOException {
+    List<PlaylistEntry> entryList = new ArrayList<>(entries);
     Mutator mutator = new Mutator();
-    entries.forEach(e -> mutator.addMutation(MutationFactory.getDeletePlaylistEntryMutation(e)));
-    service.makeBatchCall(PlaylistEntry.BATCH_URL, mutator);
-    Playlist.getCache().remove(entries);
+    entryList.forEach(e -> mutator.addMutation(MutationFactory.getDeletePlaylistEntryMutation(e)));
+    MutationResponse response = makeChunkedBatchCall(PlaylistEntry.BATCH_URL, mutator);
+    List<PlaylistEntry> deleted = new ArrayList<>(entryList.size());
+    for (int i = 0; i < entryList.size(); i++) {
+      if (response.getItems().get(i).isSuccess()) {
+        deleted.add(entryList.get(i));
+      }
+    }
+    playlistEntryCache.remove(deleted);
+    if (deleted.size() < entryList.size()) {
+      throw new NetworkException(400, String.format(Language.get("mutation.PartialFailure"),
+          entryList.size() - deleted.size(), entryList.size()));
+    }
   }
 
   /**
@@ -262,14 +706,26 @@ public final class GPlayMusic {
    * Use this class to create a {@link GPlayMusic} instance.
    */
   public final static class Builder {
+    /**
+     * Root of all service calls unless changed via {@link #setBaseUrl(String)}.
+     */
+    public final static String DEFAULT_BASE_URL = "https://mclients.googleapis.com/";
+    /**
+     * Locale used unless set via {@link #setLocale(Locale)} or restored from a {@link #setConfig(Config)} snapshot.
+     */
+    public final static Locale DEFAULT_LOCALE = Locale.US;
 
     private OkHttpClient.Builder httpClientBuilder;
     private AuthToken authToken;
-    private Locale locale = Locale.US;
+    private Locale locale;
     private String androidID;
     private ErrorInterceptor.InterceptorBehaviour
         interceptorBehaviour = ErrorInterceptor.InterceptorBehaviour.THROW_EXCEPTION;
     private boolean debug = false;
+    private Config config;
+    private SampledLoggingInterceptor sampledLoggingInterceptor;
+    private MetricsInterceptor metrics;
+    private String baseUrl = DEFAULT_BASE_URL;
 
     /**
      * Used while building the {@link GPlayMusic} instance. If no {@link OkHttpClient.Builder} is
@@ -305,6 +761,41 @@ public final class GPlayMusic {
       return this;
     }
 
+    /**
+     * Logs a sample of all requests and responses with capped bodies, see {@link SampledLoggingInterceptor}.
+     * Unlike {@link #setDebug(boolean)} this is cheap enough to stay enabled in production.
+     *
+     * @return This {@link Builder} instance.
+     */
+    public Builder setSampledLogging(SampledLoggingInterceptor interceptor) {
+      this.sampledLoggingInterceptor = interceptor;
+      return this;
+    }
+
+    /**
+     * Records per endpoint metrics of all requests made by the built instance.
+     * Adds {@code metrics} as application and {@link MetricsInterceptor#getNetworkInterceptor()} as network
+     * interceptor.
+     *
+     * @return This {@link Builder} instance.
+     */
+    public Builder setMetrics(MetricsInterceptor metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    /**
+     * Sends all service calls to {@code baseUrl} instead of {@link #DEFAULT_BASE_URL},
+     * e.g. to a local stand-in server for offline and load testing.
+     *
+     * @param baseUrl root url ending with "/"
+     * @return This {@link Builder} instance.
+     */
+    public Builder setBaseUrl(String baseUrl) {
+      this.baseUrl = baseUrl;
+      return this;
+    }
+
     /**
      * Set a custom {@link OkHttpClient.Builder} to build the {@link GPlayMusic} instance with.
      * If left untouched the Builder will use the default instance accessible
@@ -317,6 +808,19 @@ public final class GPlayMusic {
       return this;
     }
 
+    /**
+     * Builds the {@link GPlayMusic} instance upon an existing {@link OkHttpClient}.
+     * The built instance shares connection pool, dispatcher and thread pools with {@code client}, so many instances
+     * (e.g. one per account) can be served by a single client. Interceptors added by the builder only apply
+     * to the built instance.
+     *
+     * @return This {@link Builder} instance.
+     */
+    public Builder setHttpClient(OkHttpClient client) {
+      this.httpClientBuilder = client.newBuilder();
+      return this;
+    }
+
     /**
      * Set an {@link AuthToken} to access the Google Play Service.
      * This method has to be called before building the {@link GPlayMusic} instance.
@@ -332,7 +836,7 @@ public final class GPlayMusic {
 
     /**
      * Set a local to use during calls to the Google Play Service.
-     * Defaults to {@link Locale#US}.
+     * Defaults to the locale of the {@link #setConfig(Config)} snapshot or {@link #DEFAULT_LOCALE}.
      *
      * @return This {@link Builder} instance.
      */
@@ -366,6 +870,20 @@ public final class GPlayMusic {
       return this;
     }
 
+    /**
+     * Set a {@link Config} saved from a previous session (see {@link GPlayMusic#getConfig()}).
+     * If the config contains an android id (or one is set via {@link #setAndroidID(String)}), the built instance
+     * is ready without any network call and refreshes the config in the background.
+     * The locale of the config is kept unless another one is set via {@link #setLocale(Locale)}.
+     * The built instance works on a copy, the passed config is not modified.
+     *
+     * @return This {@link Builder} instance.
+     */
+    public Builder setConfig(Config config) {
+      this.config = config;
+      return this;
+    }
+
     /**
      * Builds a new {@link GPlayMusic} instance with the customizations set to this builder.
      * Make sure to call {@link #setAuthToken(AuthToken)} before building with this method.
@@ -374,72 +892,71 @@ public final class GPlayMusic {
      */
     public GPlayMusic build() {
       try {
-        if (this.authToken == null) {
-          throw new InitializationException(Language.get("api.init.EmptyToken"));
-        }
-        GsonBuilder gsonBuilder = new GsonBuilder()
-            .registerTypeAdapter(Result.class, new ResultDeserializer())
-            .registerTypeAdapter(Config.class, new ConfigDeserializer())
-            .registerTypeAdapter(ListenNowStation.class, new ListenNowStationDeserializer())
-            .registerTypeAdapter(Color.class, new ColorDeserializer());
-
-        if (this.httpClientBuilder == null) {
-          this.httpClientBuilder = getDefaultHttpBuilder();
-        }
+        return join(buildAsync());
+      } catch (IOException e) {
+        throw new InitializationException(e);
+      }
+    }
+
+    /**
+     * Same as {@link #build()}, but does not block while the config is fetched.
+     *
+     * @return a future completed with the new {@link GPlayMusic} instance once it is ready to use.
+     * @throws InitializationException if no {@link AuthToken} was set.
+     */
+    public CompletableFuture<GPlayMusic> buildAsync() {
+      if (this.authToken == null) {
+        throw new InitializationException(Language.get("api.init.EmptyToken"));
+      }
+      ModelPostProcessor modelPostProcessor = new ModelPostProcessor();
+      GsonBuilder gsonBuilder = createGsonBuilder()
+          .registerTypeAdapterFactory(modelPostProcessor);
 
-        RequestInterceptor parameterInterceptor = new RequestInterceptor(authToken);
+      if (this.httpClientBuilder == null) {
+        this.httpClientBuilder = getDefaultHttpBuilder();
+      }
+
+      RequestInterceptor parameterInterceptor = new RequestInterceptor(authToken);
 
+      this.httpClientBuilder
+          .addInterceptor(new EventInterceptor())
+          .addInterceptor(parameterInterceptor)
+          .addInterceptor(new ErrorInterceptor(this.interceptorBehaviour))
+          .followRedirects(false);
+      if (this.debug) {
+        this.httpClientBuilder.addInterceptor(new LoggingInterceptor());
+      }
+      if (this.sampledLoggingInterceptor != null) {
+        this.httpClientBuilder.addInterceptor(this.sampledLoggingInterceptor);
+      }
+      if (this.metrics != null) {
         this.httpClientBuilder
-            .addInterceptor(parameterInterceptor)
-            .addInterceptor(new ErrorInterceptor(this.interceptorBehaviour))
-            .followRedirects(false);
-        if (this.debug) {
-          this.httpClientBuilder.addInterceptor(new LoggingInterceptor());
-        }
+            .addInterceptor(this.metrics)
+            .addNetworkInterceptor(this.metrics.getNetworkInterceptor());
+      }
 
-        OkHttpClient httpClient = this.httpClientBuilder.build();
+      OkHttpClient httpClient = this.httpClientBuilder.build();
 
-        Retrofit retrofit = new Retrofit.Builder()
-            .baseUrl("https://mclients.googleapis.com/")
-            .addConverterFactory(GsonConverterFactory.create(gsonBuilder.create()))
-            .client(httpClient)
-            .build();
+      Retrofit retrofit = new Retrofit.Builder()
+          .baseUrl(baseUrl)
+          .addConverterFactory(GsonConverterFactory.create(gsonBuilder.create()))
+          .client(httpClient)
+          .build();
 
-        GPlayMusic gPlay = new GPlayMusic(retrofit.create(GPlayService.class), parameterInterceptor);
-        retrofit2.Response<Config> configResponse = null;
-        configResponse = gPlay.getService().config(this.locale).execute();
-        if (!configResponse.isSuccessful()) {
-          throw new InitializationException(Language.get("network.GenericError"), NetworkException.parse(configResponse.raw()));
-        }
-        Config config = configResponse.body();
-        if (config == null) {
-          throw new InitializationException(Language.get("api.init.EmptyConfig"));
-        }
-        config.setLocale(locale);
-        Language.setLocale(locale);
-        gPlay.setConfig(config);
-
-        parameterInterceptor.addParameter("dv", "0")
-            .addParameter("hl", locale.toString())
-            .addParameter("tier", config.getSubscription().getValue());
-
-        if (androidID == null) {
-          Optional<DeviceInfo> optional =
-              gPlay.getRegisteredDevices().toList().stream()
-                  .filter(deviceInfo -> (deviceInfo.getType().equals("ANDROID")))
-                  .findFirst();
-          if (optional.isPresent()) {
-            config.setAndroidID(optional.get().getId());
-          } else {
-            throw new InitializationException(Language.get("api.init.NoAndroidId"));
-          }
-        } else {
-          config.setAndroidID(androidID);
+      GPlayMusic gPlay = new GPlayMusic(retrofit.create(GPlayService.class), parameterInterceptor);
+      modelPostProcessor.setApi(gPlay);
+      String snapshotAndroidID = androidID != null ? androidID : (config != null ? config.getAndroidID() : null);
+      if (config != null && snapshotAndroidID != null) {
+        // the snapshot may be shared with other builders, so it is not modified
+        Config snapshot = config.copy();
+        snapshot.setAndroidID(snapshotAndroidID);
+        if (locale != null || snapshot.getLocale() == null) {
+          snapshot.setLocale(locale != null ? locale : DEFAULT_LOCALE);
         }
-        return gPlay;
-      } catch (IOException e) {
-        throw new InitializationException(e);
+        gPlay.initialize(snapshot);
+        return CompletableFuture.completedFuture(gPlay);
       }
+      return gPlay.initializeAsync(locale != null ? locale : DEFAULT_LOCALE, androidID);
     }
 
   }
@@ -27,6 +27,8 @@ import com.github.felixgail.gplaymusic.model.responses.GenreResponse;
 import com.github.felixgail.gplaymusic.model.responses.ListResult;
 import com.github.felixgail.gplaymusic.model.responses.SearchResponse;
 import com.github.felixgail.gplaymusic.model.responses.SharedPlaylistEntryListResult;
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
 import com.github.felixgail.gplaymusic.util.language.Language;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -173,12 +175,15 @@ public interface GPlayService {
 
   default MutationResponse makeBatchCall(String path, Mutator body)
       throws IOException {
-    Response<MutationResponse> response = batchCall("sj/v2.5/" + path, body).execute();
-    if (!response.body().checkSuccess()) {
-      NetworkException exception = new NetworkException(400, Language.get("network.GenericError"));
-      exception.setResponse(response.raw());
-      throw exception;
+    try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.MUTATION_BATCH, path)) {
+      Response<MutationResponse> response = batchCall("sj/v2.5/" + path, body).execute();
+      if (!response.body().checkSuccess()) {
+        NetworkException exception = new NetworkException(400, Language.get("network.GenericError"));
+        exception.setResponse(response.raw());
+        throw exception;
+      }
+      span.succeeded(body.getMutations().size());
+      return response.body();
     }
-    return response.body();
   }
 }
@@ -0,0 +1,255 @@
+package com.github.felixgail.gplaymusic.api;
+
+import com.github.felixgail.gplaymusic.util.DaemonThreadFactory;
+import com.github.felixgail.gplaymusic.util.TokenProvider;
+import com.github.felixgail.gplaymusic.util.deserializer.ModelPostProcessor;
+import com.github.felixgail.gplaymusic.util.interceptor.ErrorInterceptor;
+import com.github.felixgail.gplaymusic.util.interceptor.EventInterceptor;
+import com.github.felixgail.gplaymusic.util.interceptor.RequestInterceptor;
+import com.google.gson.Gson;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import svarzee.gps.gpsoauth.AuthToken;
+import svarzee.gps.gpsoauth.Gpsoauth;
+
+import javax.validation.constraints.NotNull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves {@link GPlayMusic} sessions for many accounts from a single transport.
+ * <br>
+ * All sessions share one {@link OkHttpClient} (connection pool and dispatcher), one {@link Gson} and one executor
+ * for background work. A session only owns its {@link RequestInterceptor} (token and parameters), its caches and
+ * its {@link com.github.felixgail.gplaymusic.model.requests.mutations.MutationBatcher}s.
+ * Sessions that have not made a request for {@code idleTimeoutMillis} are closed and removed from the pool.
+ * <br>
+ * Sessions created by a pool are not registered as {@link GPlayMusic#getApiInstance()}, so models have to be
+ * obtained through the session (see {@link com.github.felixgail.gplaymusic.model.Model}).
+ */
+public class GPlaySessionPool implements Closeable {
+  public final static long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+  private final static int EXECUTOR_THREADS = 4;
+  private final static long MIN_SWEEP_INTERVAL_MILLIS = 1000;
+
+  private final OkHttpClient client;
+  private final OkHttpClient loginClient;
+  private final GsonConverterFactory converterFactory;
+  private final ScheduledExecutorService executor;
+  private final long idleTimeoutMillis;
+  private final String baseUrl;
+  private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+  private volatile boolean closed = false;
+
+  /**
+   * Creates a pool based on {@link GPlayMusic.Builder#getDefaultHttpBuilder()} and
+   * {@link #DEFAULT_IDLE_TIMEOUT_MILLIS}.
+   */
+  public GPlaySessionPool() {
+    this(GPlayMusic.Builder.getDefaultHttpBuilder(), DEFAULT_IDLE_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * @param httpClientBuilder builder for the shared client. Interceptors added to it apply to every session.
+   * @param idleTimeoutMillis time after which sessions without requests are evicted. 0 or less disables eviction.
+   */
+  public GPlaySessionPool(OkHttpClient.Builder httpClientBuilder, long idleTimeoutMillis) {
+    this(httpClientBuilder, idleTimeoutMillis, GPlayMusic.Builder.DEFAULT_BASE_URL);
+  }
+
+  /**
+   * @param httpClientBuilder builder for the shared client. Interceptors added to it apply to every session.
+   * @param idleTimeoutMillis time after which sessions without requests are evicted. 0 or less disables eviction.
+   * @param baseUrl           root url of all service calls, see {@link GPlayMusic.Builder#setBaseUrl(String)}.
+   */
+  public GPlaySessionPool(OkHttpClient.Builder httpClientBuilder, long idleTimeoutMillis, String baseUrl) {
+    this.baseUrl = baseUrl;
+    // gpsoauth handles login errors and redirects itself, so logins skip the service interceptors
+    this.loginClient = httpClientBuilder.build();
+    this.client = loginClient.newBuilder()
+        .addInterceptor(new EventInterceptor())
+        .addInterceptor(new ErrorInterceptor(ErrorInterceptor.InterceptorBehaviour.THROW_EXCEPTION))
+        .followRedirects(false)
+        .build();
+    Gson gson = GPlayMusic.createGsonBuilder()
+        .registerTypeAdapterFactory(new ModelPostProcessor())
+        .create();
+    this.converterFactory = GsonConverterFactory.create(gson);
+    this.executor = Executors.newScheduledThreadPool(EXECUTOR_THREADS, new DaemonThreadFactory("gplaymusic-pool"));
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    if (idleTimeoutMillis > 0) {
+      long interval = Math.max(MIN_SWEEP_INTERVAL_MILLIS, idleTimeoutMillis / 2);
+      executor.scheduleWithFixedDelay(this::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Returns the session of an account, creating it if the pool does not hold one.
+   * If the pool holds a session for {@code key}, its token is replaced by {@code token}.
+   *
+   * @param key       identifies the account within this pool, e.g. the email address
+   * @param token     token of the account
+   * @param locale    locale used for calls of a new session
+   * @param androidID android id used by a new session for streaming or null to use a registered device
+   * @throws IOException if the config of a new session could not be fetched
+   */
+  public GPlayMusic getSession(@NotNull String key, @NotNull AuthToken token, @NotNull Locale locale,
+                               String androidID) throws IOException {
+    while (true) {
+      if (closed) {
+        throw new IllegalStateException("Session pool has already been closed.");
+      }
+      // touched within compute, so evictIdle cannot remove the session between lookup and use
+      Session session = sessions.compute(key, (k, current) -> {
+        Session touched = current != null ? current : new Session();
+        touched.lastUsed = System.currentTimeMillis();
+        return touched;
+      });
+      try {
+        GPlayMusic api = session.get(token, locale, androidID);
+        if (api != null) {
+          return api;
+        }
+      } catch (IOException | RuntimeException e) {
+        if (session.api == null) {
+          sessions.remove(key, session);
+        }
+        throw e;
+      }
+      // the session was closed after the lookup (evicted or removed), so another one is created
+      sessions.remove(key, session);
+    }
+  }
+
+  /**
+   * Returns the session of an account if the pool holds an initialized one.
+   */
+  public Optional<GPlayMusic> getExistingSession(String key) {
+    Session session = sessions.get(key);
+    return session == null ? Optional.empty() : Optional.ofNullable(session.api);
+  }
+
+  /**
+   * Logs in an account. See {@link TokenProvider#provideToken(String, String, String)}.
+   * The login shares connections and threads with the sessions, but none of their interceptors.
+   */
+  public AuthToken login(String user, String password, String androidID)
+      throws IOException, Gpsoauth.TokenRequestFailed {
+    return TokenProvider.provideToken(loginClient, user, password, androidID);
+  }
+
+  /**
+   * Closes the session of an account and removes it from the pool.
+   */
+  public void removeSession(String key) {
+    Session session = sessions.remove(key);
+    if (session != null) {
+      session.close();
+    }
+  }
+
+  /**
+   * @return the amount of sessions currently held.
+   */
+  public int size() {
+    return sessions.size();
+  }
+
+  public OkHttpClient getHttpClient() {
+    return client;
+  }
+
+  /**
+   * Closes all sessions that did not make a request within the idle timeout.
+   * Called periodically by the pool.
+   */
+  public void evictIdle() {
+    long threshold = System.currentTimeMillis() - idleTimeoutMillis;
+    List<Session> evicted = new ArrayList<>();
+    for (String key : sessions.keySet()) {
+      // checked and removed within compute, so a concurrent getSession either keeps the session or misses it
+      sessions.computeIfPresent(key, (k, session) -> {
+        if (session.lastUsed >= threshold) {
+          return session;
+        }
+        evicted.add(session);
+        return null;
+      });
+    }
+    evicted.forEach(Session::close);
+  }
+
+  /**
+   * Closes all sessions and releases threads and connections of the shared client.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    List<String> keys = new ArrayList<>(sessions.keySet());
+    keys.forEach(this::removeSession);
+    executor.shutdown();
+    client.dispatcher().executorService().shutdown();
+    client.connectionPool().evictAll();
+  }
+
+  private GPlayMusic createSession(Session session, AuthToken token, Locale locale, String androidID)
+      throws IOException {
+    RequestInterceptor interceptor = new RequestInterceptor(token);
+    OkHttpClient sessionClient = client.newBuilder()
+        .addInterceptor(chain -> {
+          session.lastUsed = System.currentTimeMillis();
+          return chain.proceed(chain.request());
+        })
+        .addInterceptor(interceptor)
+        .build();
+    ModelBindingConverterFactory sessionConverter = new ModelBindingConverterFactory(converterFactory);
+    Retrofit retrofit = new Retrofit.Builder()
+        .baseUrl(baseUrl)
+        .addConverterFactory(sessionConverter)
+        .client(sessionClient)
+        .build();
+    GPlayMusic api = new GPlayMusic(retrofit.create(GPlayService.class), interceptor, executor);
+    sessionConverter.setApi(api);
+    api.initialize(locale, androidID);
+    return api;
+  }
+
+  private class Session {
+    private volatile GPlayMusic api;
+    private volatile long lastUsed = System.currentTimeMillis();
+    private boolean closed = false;
+
+    /**
+     * @return the api of this session or null if the session has been closed.
+     */
+    synchronized GPlayMusic get(AuthToken token, Locale locale, String androidID) throws IOException {
+      if (closed) {
+        return null;
+      }
+      lastUsed = System.currentTimeMillis();
+      if (api == null) {
+        api = createSession(this, token, locale, androidID);
+      } else {
+        api.changeToken(token);
+      }
+      return api;
+    }
+
+    synchronized void close() {
+      closed = true;
+      if (api != null) {
+        api.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.github.felixgail.gplaymusic.api;
+
+import com.github.felixgail.gplaymusic.util.deserializer.ModelPostProcessor;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Wraps a converter factory using a shared Gson, so models parsed from responses are bound to one session.
+ * See {@link ModelPostProcessor#bindThread(GPlayMusic)}.
+ */
+class ModelBindingConverterFactory extends Converter.Factory {
+  private final Converter.Factory delegate;
+  private volatile GPlayMusic api;
+
+  ModelBindingConverterFactory(Converter.Factory delegate) {
+    this.delegate = delegate;
+  }
+
+  void setApi(GPlayMusic api) {
+    this.api = api;
+  }
+
+  @Override
+  public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+    Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+    if (converter == null) {
+      return null;
+    }
+    return body -> {
+      GPlayMusic previous = ModelPostProcessor.bindThread(api);
+      try {
+        return converter.convert(body);
+      } finally {
+        ModelPostProcessor.restoreThread(previous);
+      }
+    };
+  }
+
+  @Override
+  public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                        Annotation[] methodAnnotations, Retrofit retrofit) {
+    return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+  }
+
+  @Override
+  public Converter<?, String> stringConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+    return delegate.stringConverter(type, annotations, retrofit);
+  }
+}
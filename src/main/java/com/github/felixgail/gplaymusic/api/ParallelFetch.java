@@ -0,0 +1,104 @@
+package com.github.felixgail.gplaymusic.api;
+
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.util.DaemonThreadFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fetches items by id on a pool of at most {@code parallelism} threads for the batched fetch methods of
+ * {@link GPlayMusic}.
+ * <br>
+ * Ids the server does not know (404) are left out of the result. Any other failure is thrown once all fetches
+ * completed, with further failures added as suppressed exceptions.
+ */
+class ParallelFetch {
+
+  private ParallelFetch() {
+  }
+
+  static <T> Map<String, T> fetchAll(Collection<String> ids, int parallelism, Fetcher<T> fetcher)
+      throws IOException {
+    Map<String, T> results = new LinkedHashMap<>();
+    if (ids.isEmpty()) {
+      return results;
+    }
+    IOException failure = null;
+    if (ids.size() == 1 || parallelism <= 1) {
+      for (String id : ids) {
+        try {
+          putIfFound(results, id, fetcher);
+        } catch (IOException e) {
+          failure = merge(failure, e);
+        }
+      }
+    } else {
+      ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, ids.size()),
+          new DaemonThreadFactory("gplaymusic-fetch"));
+      try {
+        Map<String, Future<Map<String, T>>> futures = new LinkedHashMap<>();
+        for (String id : ids) {
+          futures.put(id, executor.submit(() -> {
+            Map<String, T> single = new LinkedHashMap<>(1);
+            putIfFound(single, id, fetcher);
+            return single;
+          }));
+        }
+        for (Future<Map<String, T>> future : futures.values()) {
+          try {
+            results.putAll(future.get());
+          } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+              throw (RuntimeException) cause;
+            }
+            failure = merge(failure, cause instanceof IOException ? (IOException) cause : new IOException(cause));
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(e.getMessage());
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return results;
+  }
+
+  private static <T> void putIfFound(Map<String, T> results, String id, Fetcher<T> fetcher) throws IOException {
+    try {
+      T item = fetcher.fetch(id);
+      if (item != null) {
+        results.put(id, item);
+      }
+    } catch (NetworkException e) {
+      if (e.getCode() != 404) {
+        throw e;
+      }
+    }
+  }
+
+  private static IOException merge(IOException first, IOException next) {
+    if (first == null) {
+      return next;
+    }
+    first.addSuppressed(next);
+    return first;
+  }
+
+  @FunctionalInterface
+  interface Fetcher<T> {
+    T fetch(String id) throws IOException;
+  }
+}
@@ -0,0 +1,95 @@
+package com.github.felixgail.gplaymusic.api;
+
+import com.github.felixgail.gplaymusic.model.requests.SearchTypes;
+import com.github.felixgail.gplaymusic.model.responses.QueryResult;
+import com.github.felixgail.gplaymusic.model.responses.SearchResponse;
+import com.github.felixgail.gplaymusic.util.DaemonThreadFactory;
+import com.github.felixgail.gplaymusic.util.RateLimiter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs the searches of {@link GPlayMusic#searchAll(Collection, SearchTypes, int, int, RateLimiter)} on a pool of
+ * {@code parallelism} threads and hands out results in the order they complete.
+ */
+class ParallelSearch implements Iterator<QueryResult> {
+  private final GPlayMusic api;
+  private final SearchTypes types;
+  private final int maxResults;
+  private final RateLimiter rateLimiter;
+  private final int total;
+  private final BlockingQueue<QueryResult> results = new LinkedBlockingQueue<>();
+  private final ExecutorService executor;
+  private int returned = 0;
+
+  ParallelSearch(GPlayMusic api, Collection<String> queries, SearchTypes types, int maxResults, int parallelism,
+                 RateLimiter rateLimiter) {
+    this.api = api;
+    this.types = types;
+    this.maxResults = maxResults;
+    this.rateLimiter = rateLimiter;
+    Set<String> unique = new LinkedHashSet<>(queries);
+    this.total = unique.size();
+    this.executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, total)),
+        new DaemonThreadFactory("gplaymusic-search"));
+    unique.forEach(query -> executor.execute(() -> results.add(search(query))));
+    executor.shutdown();
+  }
+
+  Stream<QueryResult> stream() {
+    return StreamSupport.stream(Spliterators.spliterator(this, total,
+        Spliterator.NONNULL | Spliterator.DISTINCT), false)
+        .onClose(executor::shutdownNow);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return returned < total;
+  }
+
+  @Override
+  public QueryResult next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    try {
+      QueryResult result = results.take();
+      returned++;
+      return result;
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private QueryResult search(String query) {
+    try {
+      if (rateLimiter != null) {
+        rateLimiter.acquire();
+      }
+      SearchResponse response = api.search(query, maxResults, types);
+      return new QueryResult(query, response, null);
+    } catch (IOException e) {
+      return new QueryResult(query, null, e);
+    } catch (RuntimeException e) {
+      return new QueryResult(query, null, new IOException(e));
+    } catch (InterruptedException e) {
+      return new QueryResult(query, null, new InterruptedIOException(e.getMessage()));
+    }
+  }
+}
@@ -0,0 +1,328 @@
+package com.github.felixgail.gplaymusic.api;
+
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.model.MutationResponse;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.requests.IncrementPlaycountRequest;
+import com.github.felixgail.gplaymusic.util.language.Language;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects play count increments and reports them in batched {@code trackstats} calls,
+ * instead of one call per {@link Track#incrementPlaycount(int)}.
+ * <br>
+ * Increments are aggregated per track. Pending increments are sent once {@code flushThreshold} distinct tracks are
+ * pending, every {@code flushIntervalMillis} and on {@link #close()}.
+ * If a storage file is provided, it always holds the increments that have not been confirmed by the server yet.
+ * It is rewritten after new increments and after every flush and reloaded by the next reporter using the same file,
+ * so increments survive a crash. Increments are reported at least once: a crash between the server accepting a
+ * report and the file being rewritten reports them again.
+ * <br>
+ * Reporters use the executor of their {@link GPlayMusic} instance, so they have to be closed before the api.
+ */
+public class PlaycountReporter implements Closeable {
+  public final static int DEFAULT_FLUSH_THRESHOLD = 100;
+  public final static long DEFAULT_FLUSH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private final static Gson gson = new Gson();
+
+  private final GPlayService service;
+  private final ScheduledExecutorService executor;
+  private final Path storage;
+  private final int flushThreshold;
+  private final ScheduledFuture<?> scheduledFlush;
+
+  private final Object flushLock = new Object();
+  private final Object saveLock = new Object();
+  private Map<String, Pending> pending = new LinkedHashMap<>();
+  private List<Pending> inFlight = Collections.emptyList();
+  private boolean flushRequested = false;
+  private boolean saveRequested = false;
+  private boolean closed = false;
+
+  /**
+   * Creates a reporter with default thresholds.
+   *
+   * @param api     api used to send the reports
+   * @param storage file pending increments are saved to. May be null if they should not be kept.
+   * @throws IOException if the storage file exists, but could not be read
+   */
+  public PlaycountReporter(GPlayMusic api, Path storage) throws IOException {
+    this(api.getService(), api.getExecutorService(), storage, DEFAULT_FLUSH_THRESHOLD, DEFAULT_FLUSH_INTERVAL_MILLIS);
+  }
+
+  /**
+   * @param service             service used to send the reports
+   * @param executor            executor used for timed and threshold triggered flushes
+   * @param storage             file pending increments are saved to. May be null.
+   * @param flushThreshold      amount of distinct pending tracks that trigger a flush
+   * @param flushIntervalMillis interval of timed flushes
+   * @throws IOException if the storage file exists, but could not be read
+   */
+  public PlaycountReporter(GPlayService service, ScheduledExecutorService executor, Path storage,
+                           int flushThreshold, long flushIntervalMillis) throws IOException {
+    if (flushThreshold <= 0) {
+      throw new IllegalArgumentException("flushThreshold has to be greater than 0.");
+    }
+    this.service = service;
+    this.executor = executor;
+    this.storage = storage;
+    this.flushThreshold = flushThreshold;
+    load();
+    this.scheduledFlush = executor.scheduleWithFixedDelay(this::flushQuietly,
+        flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Adds {@code count} plays to the pending increments of the track.
+   */
+  public void increment(Track track, int count) {
+    increment(track.getID(), count, System.currentTimeMillis());
+  }
+
+  public void increment(String trackID, int count, long playedMillis) {
+    if (count <= 0) {
+      return;
+    }
+    boolean flushNow;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Reporter has already been closed.");
+      }
+      pending.computeIfAbsent(trackID, Pending::new).add(count, playedMillis);
+      flushNow = pending.size() >= flushThreshold && !flushRequested;
+      if (flushNow) {
+        flushRequested = true;
+      } else if (storage != null && !saveRequested) {
+        saveRequested = true;
+      } else {
+        return;
+      }
+    }
+    // a flush saves the remaining increments itself
+    executor.execute(flushNow ? this::flushQuietly : this::saveQuietly);
+  }
+
+  /**
+   * @return the amount of tracks with pending increments.
+   */
+  public synchronized int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Sends all pending increments in a single request.
+   * Increments that could not be reported stay pending. The storage file is rewritten afterwards.
+   *
+   * @throws IOException if the request failed, the server rejected some of the increments or the storage file
+   *                     could not be written.
+   */
+  public void flush() throws IOException {
+    synchronized (flushLock) {
+      List<Pending> batch;
+      synchronized (this) {
+        flushRequested = false;
+        if (pending.isEmpty()) {
+          return;
+        }
+        batch = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        inFlight = batch;
+      }
+      List<IncrementPlaycountRequest.TrackStat> stats = new ArrayList<>(batch.size());
+      for (Pending entry : batch) {
+        stats.add(entry.toTrackStat());
+      }
+      List<Pending> failed = new ArrayList<>();
+      try {
+        Response<MutationResponse> response = service.incremetPlaycount(new IncrementPlaycountRequest(stats))
+            .execute();
+        if (response.body() == null) {
+          throw new NetworkException(response.code(), response.message());
+        }
+        List<MutationResponse.Item> items = response.body().getItems();
+        if (items.size() != batch.size()) {
+          if (!response.body().checkSuccess()) {
+            failed.addAll(batch);
+          }
+        } else {
+          for (int i = 0; i < items.size(); i++) {
+            if (!items.get(i).isSuccess()) {
+              failed.add(batch.get(i));
+            }
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        completeFlush(batch);
+        saveAfterFailure(e);
+        throw e;
+      }
+      completeFlush(failed);
+      if (failed.isEmpty()) {
+        save();
+        return;
+      }
+      NetworkException e = new NetworkException(400, String.format(Language.get("playcount.PartialFailure"),
+          failed.size(), batch.size()));
+      saveAfterFailure(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Stops timed flushes, reports all pending increments and saves those that could not be reported
+   * to the storage file.
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    scheduledFlush.cancel(false);
+    try {
+      flush();
+    } catch (IOException e) {
+      if (storage == null) {
+        throw e;
+      }
+    }
+    save();
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (IOException | RuntimeException ignored) {
+      // Increments stay pending and are sent with the next flush.
+    }
+  }
+
+  private void saveQuietly() {
+    synchronized (this) {
+      saveRequested = false;
+    }
+    try {
+      save();
+    } catch (IOException ignored) {
+      // Retried with the next increment or flush.
+    }
+  }
+
+  private void saveAfterFailure(Exception failure) {
+    try {
+      save();
+    } catch (IOException e) {
+      failure.addSuppressed(e);
+    }
+  }
+
+  private synchronized void completeFlush(List<Pending> failed) {
+    inFlight = Collections.emptyList();
+    requeue(failed);
+  }
+
+  private synchronized void requeue(List<Pending> entries) {
+    for (Pending entry : entries) {
+      pending.merge(entry.id, entry, Pending::merge);
+    }
+  }
+
+  private void load() throws IOException {
+    if (storage == null || !Files.exists(storage)) {
+      return;
+    }
+    try (Reader reader = Files.newBufferedReader(storage, StandardCharsets.UTF_8)) {
+      List<Pending> stored = gson.fromJson(reader, new TypeToken<List<Pending>>() {
+      }.getType());
+      if (stored != null) {
+        requeue(stored);
+      }
+    } catch (JsonParseException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Writes all unconfirmed increments, pending and in flight, to the storage file or deletes it if there are none.
+   */
+  private void save() throws IOException {
+    if (storage == null) {
+      return;
+    }
+    synchronized (saveLock) {
+      List<Pending> remaining;
+      synchronized (this) {
+        Map<String, Pending> unconfirmed = new LinkedHashMap<>();
+        for (Pending entry : inFlight) {
+          unconfirmed.put(entry.id, entry.copy());
+        }
+        for (Pending entry : pending.values()) {
+          unconfirmed.merge(entry.id, entry.copy(), Pending::merge);
+        }
+        remaining = new ArrayList<>(unconfirmed.values());
+      }
+      if (remaining.isEmpty()) {
+        Files.deleteIfExists(storage);
+        return;
+      }
+      Path parent = storage.toAbsolutePath().getParent();
+      Path temp = Files.createTempFile(parent, storage.getFileName().toString(), ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        gson.toJson(remaining, writer);
+      }
+      Files.move(temp, storage, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+
+  private static class Pending {
+    private String id;
+    private int plays;
+    private long lastPlayedMillis;
+
+    Pending(String id) {
+      this.id = id;
+    }
+
+    void add(int count, long playedMillis) {
+      plays += count;
+      lastPlayedMillis = Math.max(lastPlayedMillis, playedMillis);
+    }
+
+    Pending copy() {
+      Pending copy = new Pending(id);
+      copy.add(plays, lastPlayedMillis);
+      return copy;
+    }
+
+    Pending merge(Pending other) {
+      add(other.plays, other.lastPlayedMillis);
+      return this;
+    }
+
+    IncrementPlaycountRequest.TrackStat toTrackStat() {
+      return new IncrementPlaycountRequest.TrackStat(id, plays, lastPlayedMillis);
+    }
+  }
+}
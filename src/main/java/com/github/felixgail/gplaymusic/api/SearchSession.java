@@ -0,0 +1,250 @@
+package com.github.felixgail.gplaymusic.api;
+
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.model.Album;
+import com.github.felixgail.gplaymusic.model.Artist;
+import com.github.felixgail.gplaymusic.model.Playlist;
+import com.github.felixgail.gplaymusic.model.Station;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.requests.SearchTypes;
+import com.github.felixgail.gplaymusic.model.responses.Result;
+import com.github.felixgail.gplaymusic.model.responses.SearchResponse;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Search for input that changes with every keystroke, like a search box.
+ * <br>
+ * Each {@link #update(String)} replaces the previous query: a search that has not been sent yet is dropped,
+ * one that is in flight is cancelled and the future of the previous query is cancelled.
+ * Queries are sent once the input did not change for the debounce time.
+ * <br>
+ * Responses are cached per query for a limited time. If a query extends a cached query whose response
+ * held less than {@code maxResults} entries, the server has already returned everything matching the shorter query
+ * and the result is filtered locally instead: entries are kept if every word of the query starts a word of their name
+ * (title, artist and album for tracks). Entries of other types are kept unfiltered.
+ */
+public class SearchSession implements Closeable {
+  public final static long DEFAULT_DEBOUNCE_MILLIS = 250;
+  public final static long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  public final static int DEFAULT_CACHE_SIZE = 50;
+  private final static Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+  private final GPlayMusic api;
+  private final SearchTypes types;
+  private final int maxResults;
+  private final Map<String, CachedResponse> cache;
+  private final AtomicInteger requestCount = new AtomicInteger();
+  private long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+  private long ttlMillis = DEFAULT_TTL_MILLIS;
+
+  private CompletableFuture<SearchResponse> pending;
+  private ScheduledFuture<?> scheduled;
+  private Call<SearchResponse> inFlight;
+
+  public SearchSession(GPlayMusic api, SearchTypes types, int maxResults) {
+    this(api, types, maxResults, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * @param cacheSize maximum amount of cached queries. The least recently used query is dropped first.
+   */
+  public SearchSession(GPlayMusic api, SearchTypes types, int maxResults, int cacheSize) {
+    this.api = api;
+    this.types = types;
+    this.maxResults = maxResults;
+    this.cache = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  public SearchSession setDebounceMillis(long debounceMillis) {
+    this.debounceMillis = debounceMillis;
+    return this;
+  }
+
+  /**
+   * Time a response is reused for the same or extending queries.
+   */
+  public SearchSession setTtlMillis(long ttlMillis) {
+    this.ttlMillis = ttlMillis;
+    return this;
+  }
+
+  /**
+   * Replaces the current query.
+   *
+   * @param query current input
+   * @return a future completed with the response for {@code query}, or cancelled if the query is replaced
+   * before the response arrives. Failed requests complete it exceptionally, usually with a {@link NetworkException}.
+   */
+  public synchronized CompletableFuture<SearchResponse> update(String query) {
+    cancel();
+    String key = normalize(query);
+    CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+    if (key.isEmpty()) {
+      future.complete(new SearchResponse());
+      return future;
+    }
+    SearchResponse cached = fromCache(key);
+    if (cached != null) {
+      future.complete(cached);
+      return future;
+    }
+    pending = future;
+    scheduled = api.getExecutorService().schedule(() -> send(key, future), debounceMillis, TimeUnit.MILLISECONDS);
+    return future;
+  }
+
+  /**
+   * Cancels the current query, whether it waits for the debounce time or is in flight.
+   */
+  public synchronized void cancel() {
+    if (scheduled != null) {
+      scheduled.cancel(false);
+      scheduled = null;
+    }
+    if (inFlight != null) {
+      inFlight.cancel();
+      inFlight = null;
+    }
+    if (pending != null) {
+      pending.cancel(false);
+      pending = null;
+    }
+  }
+
+  /**
+   * @return the amount of searches sent to the server by this session.
+   */
+  public int getRequestCount() {
+    return requestCount.get();
+  }
+
+  @Override
+  public synchronized void close() {
+    cancel();
+    cache.clear();
+  }
+
+  private synchronized void send(String key, CompletableFuture<SearchResponse> future) {
+    if (future != pending) {
+      return;
+    }
+    scheduled = null;
+    Call<SearchResponse> call = api.getService().search(key, maxResults, types);
+    inFlight = call;
+    requestCount.incrementAndGet();
+    call.enqueue(new Callback<SearchResponse>() {
+      @Override
+      public void onResponse(Call<SearchResponse> call, Response<SearchResponse> response) {
+        SearchResponse body = response.body();
+        synchronized (SearchSession.this) {
+          if (inFlight == call) {
+            inFlight = null;
+            pending = null;
+          }
+          if (body != null) {
+            cache.put(key, new CachedResponse(body, System.currentTimeMillis()));
+          }
+        }
+        if (body == null) {
+          future.completeExceptionally(new NetworkException(response.code(), response.message()));
+        } else {
+          api.getCatalogTrackCache().add(body.getTracks());
+          future.complete(body);
+        }
+      }
+
+      @Override
+      public void onFailure(Call<SearchResponse> call, Throwable t) {
+        synchronized (SearchSession.this) {
+          if (inFlight == call) {
+            inFlight = null;
+            pending = null;
+          }
+        }
+        future.completeExceptionally(t);
+      }
+    });
+  }
+
+  /**
+   * @return a response for {@code key} from the cache, either stored for the query itself or filtered
+   * from the complete response of the longest cached prefix.
+   */
+  private SearchResponse fromCache(String key) {
+    long now = System.currentTimeMillis();
+    cache.values().removeIf(cached -> now - cached.timestamp > ttlMillis);
+    CachedResponse exact = cache.get(key);
+    if (exact != null) {
+      return exact.response;
+    }
+    for (int end = key.length() - 1; end > 0; end--) {
+      CachedResponse prefix = cache.get(key.substring(0, end));
+      if (prefix != null && prefix.response.getEntries().size() < maxResults) {
+        List<String> words = tokenize(key);
+        SearchResponse filtered = prefix.response.filter(entry -> matches(entry, words));
+        cache.put(key, new CachedResponse(filtered, prefix.timestamp));
+        return filtered;
+      }
+    }
+    return null;
+  }
+
+  private static boolean matches(Result entry, List<String> words) {
+    String text;
+    if (entry instanceof Track) {
+      Track track = (Track) entry;
+      text = track.getTitle() + " " + track.getArtist() + " " + track.getAlbum();
+    } else if (entry instanceof Album) {
+      text = ((Album) entry).getName() + " " + ((Album) entry).getArtist();
+    } else if (entry instanceof Artist) {
+      text = ((Artist) entry).getName();
+    } else if (entry instanceof Playlist) {
+      text = ((Playlist) entry).getName();
+    } else if (entry instanceof Station) {
+      text = ((Station) entry).getName();
+    } else {
+      return true;
+    }
+    List<String> tokens = tokenize(text);
+    return words.stream().allMatch(word -> tokens.stream().anyMatch(token -> token.startsWith(word)));
+  }
+
+  private static String normalize(String query) {
+    return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  private static List<String> tokenize(String text) {
+    return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+        .filter(token -> !token.isEmpty()).collect(Collectors.toList());
+  }
+
+  private static class CachedResponse {
+    private final SearchResponse response;
+    private final long timestamp;
+
+    CachedResponse(SearchResponse response, long timestamp) {
+      this.response = response;
+      this.timestamp = timestamp;
+    }
+  }
+}
@@ -1,5 +1,8 @@
 package com.github.felixgail.gplaymusic.cache;
 
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
+
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,22 +31,49 @@ public abstract class Cache<T> {
 
   protected void setCache(List<T> newCache) {
     this.cache = Collections.synchronizedList(newCache);
+    onReplaced(newCache);
   }
 
   public void add(Collection<T> items) {
     this.cache.addAll(items);
+    onAdded(items);
   }
 
   public void add(T item) {
     this.cache.add(item);
+    onAdded(Collections.singletonList(item));
   }
 
   public void remove(T item) {
-    this.cache.remove(item);
+    if (this.cache.remove(item)) {
+      onRemoved(Collections.singletonList(item));
+    }
   }
 
   public void remove(Collection<T> items) {
-    this.cache.removeAll(items);
+    if (this.cache.removeAll(items)) {
+      onRemoved(items);
+    }
+  }
+
+  /**
+   * Called after the whole content has been replaced, e.g. by {@link #update()}.
+   * Subclasses keeping derived structures (indexes) rebuild them here.
+   */
+  protected void onReplaced(List<T> items) {
+  }
+
+  /**
+   * Called after items have been added through {@link #add(Collection)} or {@link #add(Object)}.
+   */
+  protected void onAdded(Collection<T> items) {
+  }
+
+  /**
+   * Called after items have been removed through {@link #remove(Collection)} or {@link #remove(Object)}.
+   * {@code items} may contain items that were not part of the cache.
+   */
+  protected void onRemoved(Collection<T> items) {
   }
 
   protected List<T> getCurrentCache() {
@@ -61,6 +91,13 @@ public abstract class Cache<T> {
     return useCache;
   }
 
+  /**
+   * @return whether the cache has been filled and is kept in sync locally.
+   */
+  public boolean isInitialized() {
+    return ready;
+  }
+
   public List<T> getAll() throws IOException {
     initialize();
     return cache;
@@ -78,9 +115,12 @@ public abstract class Cache<T> {
 
   public void initialize() throws IOException {
     if (!ready) {
-      update();
-      if (useCache) {
-        ready = true;
+      try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.CACHE_INITIALIZE, getClass().getSimpleName())) {
+        update();
+        if (useCache) {
+          ready = true;
+        }
+        span.succeeded(cache.size());
       }
     }
   }
@@ -0,0 +1,66 @@
+package com.github.felixgail.gplaymusic.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+
+/**
+ * Bounded cache of store content (tracks, albums, artists) recently returned by the server, keyed by id.
+ * Once the capacity is reached the least recently used item is dropped.
+ * <br>
+ * Unlike {@link LibraryTrackCache} the content is not fetched as a whole, so this class is not a {@link Cache}.
+ */
+public class CatalogCache<T> {
+  public final static int DEFAULT_CAPACITY = 2000;
+
+  private final LinkedHashMap<String, T> items;
+
+  /**
+   * @param capacity maximum amount of items kept. Has to be greater than 0.
+   */
+  public CatalogCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity has to be greater than 0.");
+    }
+    this.items = new LinkedHashMap<String, T>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  public synchronized void put(String id, T item) {
+    items.put(id, item);
+  }
+
+  /**
+   * Stores {@code item} if no item is cached for {@code id}. Otherwise stores the result of
+   * {@code choose(cached, item)}, e.g. to keep the more complete of both.
+   */
+  public synchronized void merge(String id, T item, BinaryOperator<T> choose) {
+    items.merge(id, item, choose);
+  }
+
+  public synchronized Optional<T> get(String id) {
+    return Optional.ofNullable(items.get(id));
+  }
+
+  /**
+   * @return a snapshot of all cached items, least recently used first.
+   */
+  public synchronized List<T> getAll() {
+    return new ArrayList<>(items.values());
+  }
+
+  public synchronized int size() {
+    return items.size();
+  }
+
+  public synchronized void clear() {
+    items.clear();
+  }
+}
@@ -0,0 +1,26 @@
+package com.github.felixgail.gplaymusic.cache;
+
+import com.github.felixgail.gplaymusic.model.Track;
+
+import java.util.Collection;
+
+/**
+ * {@link CatalogCache} of store tracks recently returned by the server (searches and {@code fetchtrack}).
+ */
+public class CatalogTrackCache extends CatalogCache<Track> {
+
+  public CatalogTrackCache(int capacity) {
+    super(capacity);
+  }
+
+  /**
+   * Adds a track if it has a store id. Library uploads are ignored.
+   */
+  public void add(Track track) {
+    track.getStoreId().ifPresent(id -> put(id, track));
+  }
+
+  public void add(Collection<Track> tracks) {
+    tracks.forEach(this::add);
+  }
+}
@@ -5,20 +5,25 @@ import com.github.felixgail.gplaymusic.model.PagingHandler;
 import com.github.felixgail.gplaymusic.model.Track;
 import com.github.felixgail.gplaymusic.model.requests.PagingRequest;
 import com.github.felixgail.gplaymusic.model.responses.ListResult;
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class LibraryTrackCache extends Cache<Track> {
+  private final TrackIndex index = new TrackIndex();
+  private final TrackSearchIndex searchIndex = new TrackSearchIndex();
   private PagingHandler<Track> pagingHandler;
 
-  public LibraryTrackCache() {
+  public LibraryTrackCache(GPlayMusic api) {
     pagingHandler = new PagingHandler<Track>() {
       @Override
       public ListResult<Track> getChunk(String nextPageToken) throws IOException {
-        return GPlayMusic.getApiInstance().getService()
+        return api.getService()
             .listTracks(new PagingRequest(nextPageToken, -1)).execute().body();
       }
 
@@ -32,8 +37,32 @@ public class LibraryTrackCache extends Cache<Track> {
 
   @Override
   public void update() throws IOException {
-    List<Track> trackList = pagingHandler.getAll();
-    setCache(trackList);
+    try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.CACHE_UPDATE, getClass().getSimpleName())) {
+      List<Track> trackList = pagingHandler.getAll();
+      setCache(trackList);
+      span.succeeded(trackList.size());
+    }
+  }
+
+  /**
+   * Starts a query answered from the indexes of this cache. See {@link TrackQuery}.
+   */
+  public TrackQuery query() {
+    return new TrackQuery(this);
+  }
+
+  /**
+   * Searches title, artist, album, album artist and composer of the cached tracks without a server call.
+   * Every word of the query has to match the start of a word in one of these fields, so incomplete input
+   * (e.g. "pink flo") matches as well.
+   *
+   * @param query      text to search for
+   * @param maxResults maximum amount of returned tracks
+   * @return matching tracks, best match first
+   */
+  public List<Track> search(String query, int maxResults) throws IOException {
+    initialize();
+    return searchIndex.search(query, maxResults);
   }
 
   public Optional<Track> find(String trackID) throws IOException {
@@ -41,7 +70,7 @@ public class LibraryTrackCache extends Cache<Track> {
     if (!isUseCache()) {
       pagingHandler.reset();
     } else {
-      trackOptional = getCurrentCache().stream().filter(t -> t.getID().equals(trackID)).findFirst();
+      trackOptional = Optional.ofNullable(index.get(trackID));
       if (trackOptional.isPresent()) {
         return trackOptional;
       }
@@ -60,4 +89,26 @@ public class LibraryTrackCache extends Cache<Track> {
     }
     return Optional.empty();
   }
+
+  @Override
+  protected void onReplaced(List<Track> items) {
+    index.replace(items);
+    searchIndex.replace(items);
+  }
+
+  @Override
+  protected void onAdded(Collection<Track> items) {
+    index.add(items);
+    searchIndex.add(items);
+  }
+
+  @Override
+  protected void onRemoved(Collection<Track> items) {
+    index.remove(items);
+    searchIndex.remove(items);
+  }
+
+  TrackIndex getIndex() {
+    return index;
+  }
 }
@@ -5,23 +5,33 @@ import com.github.felixgail.gplaymusic.model.PagingHandler;
 import com.github.felixgail.gplaymusic.model.PlaylistEntry;
 import com.github.felixgail.gplaymusic.model.requests.PagingRequest;
 import com.github.felixgail.gplaymusic.model.responses.ListResult;
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
 
 import java.io.IOException;
 import java.util.List;
 
 public class PrivatePlaylistEntriesCache extends Cache<PlaylistEntry> {
+  private final GPlayMusic api;
+
+  public PrivatePlaylistEntriesCache(GPlayMusic api) {
+    this.api = api;
+  }
 
   @Override
   public void update() throws IOException {
-    List<PlaylistEntry> allEntries = new PagingHandler<PlaylistEntry>() {
+    try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.CACHE_UPDATE, getClass().getSimpleName())) {
+      List<PlaylistEntry> allEntries = new PagingHandler<PlaylistEntry>() {
 
-      @Override
-      public ListResult<PlaylistEntry> getChunk(String nextPageToken) throws IOException {
-        return GPlayMusic.getApiInstance().getService().listPrivatePlaylistEntries(
-            new PagingRequest(nextPageToken, -1)
-        ).execute().body();
-      }
-    }.getAll();
-    setCache(allEntries);
+        @Override
+        public ListResult<PlaylistEntry> getChunk(String nextPageToken) throws IOException {
+          return api.getService().listPrivatePlaylistEntries(
+              new PagingRequest(nextPageToken, -1)
+          ).execute().body();
+        }
+      }.getAll();
+      setCache(allEntries);
+      span.succeeded(allEntries.size());
+    }
   }
 }
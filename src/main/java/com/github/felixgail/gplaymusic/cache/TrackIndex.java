@@ -0,0 +1,229 @@
+package com.github.felixgail.gplaymusic.cache;
+
+import com.github.felixgail.gplaymusic.model.Track;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Secondary hash indexes over the tracks of a {@link LibraryTrackCache}, maintained incrementally through the
+ * cache hooks. Each bucket keeps lazily computed, presorted views that are dropped when the bucket changes.
+ */
+class TrackIndex {
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Bucket all = new Bucket();
+  private final Map<Field, Map<Object, Bucket>> indexes = new EnumMap<>(Field.class);
+
+  TrackIndex() {
+    for (Field field : Field.values()) {
+      indexes.put(field, new HashMap<>());
+    }
+  }
+
+  /**
+   * Normalizes a value the way it is stored in the index of {@code field}.
+   */
+  static Object key(Field field, Object value) {
+    return field == Field.GENRE ? value.toString().toLowerCase(Locale.ENGLISH) : value;
+  }
+
+  static List<Object> keys(Field field, Track track) {
+    switch (field) {
+      case ARTIST:
+        return track.getArtistId().<List<Object>>map(ArrayList::new).orElse(Collections.emptyList());
+      case ALBUM:
+        return track.getAlbumId() == null ? Collections.emptyList()
+            : Collections.singletonList(track.getAlbumId());
+      case GENRE:
+        return track.getGenre().map(genre -> Collections.singletonList(key(field, genre)))
+            .orElse(Collections.emptyList());
+      case YEAR:
+        int year = track.getYear().orElse(0);
+        return year > 0 ? Collections.singletonList(year) : Collections.emptyList();
+      default:
+        throw new IllegalArgumentException(field.name());
+    }
+  }
+
+  void replace(Collection<Track> tracks) {
+    lock.writeLock().lock();
+    try {
+      all.clear();
+      indexes.values().forEach(Map::clear);
+      tracks.forEach(this::insert);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void add(Collection<Track> tracks) {
+    lock.writeLock().lock();
+    try {
+      tracks.forEach(this::insert);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(Collection<Track> tracks) {
+    lock.writeLock().lock();
+    try {
+      tracks.forEach(this::delete);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  Track get(String id) {
+    lock.readLock().lock();
+    try {
+      return all.tracks.get(id);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Chooses the smallest bucket among {@code constraints} and returns its view in {@code order}.
+   * Without constraints all tracks are returned.
+   *
+   * @param constraints normalized keys (see {@link #key(Field, Object)}) the result has to match.
+   * @param order       order of the returned view or null for insertion order.
+   */
+  Selection select(Map<Field, Object> constraints, TrackQuery.Order order) {
+    lock.readLock().lock();
+    try {
+      Field best = null;
+      Bucket bucket = all;
+      for (Map.Entry<Field, Object> constraint : constraints.entrySet()) {
+        Bucket candidate = indexes.get(constraint.getKey()).get(constraint.getValue());
+        if (candidate == null) {
+          return new Selection(constraint.getKey(), Collections.emptyList());
+        }
+        if (best == null || candidate.tracks.size() < bucket.tracks.size()) {
+          best = constraint.getKey();
+          bucket = candidate;
+        }
+      }
+      return new Selection(best, bucket.view(order));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void insert(Track track) {
+    String id = track.getID();
+    if (all.tracks.containsKey(id)) {
+      delete(all.tracks.get(id));
+    }
+    all.put(id, track);
+    for (Field field : Field.values()) {
+      for (Object key : keys(field, track)) {
+        indexes.get(field).computeIfAbsent(key, k -> new Bucket()).put(id, track);
+      }
+    }
+  }
+
+  private void delete(Track track) {
+    String id = track.getID();
+    Track indexed = all.remove(id);
+    if (indexed == null) {
+      return;
+    }
+    for (Field field : Field.values()) {
+      Map<Object, Bucket> index = indexes.get(field);
+      for (Object key : keys(field, indexed)) {
+        Bucket bucket = index.get(key);
+        if (bucket != null) {
+          bucket.remove(id);
+          if (bucket.tracks.isEmpty()) {
+            index.remove(key);
+          }
+        }
+      }
+    }
+  }
+
+  enum Field {
+    ARTIST, ALBUM, GENRE, YEAR
+  }
+
+  static class Selection {
+    private final Field index;
+    private final List<Track> tracks;
+
+    Selection(Field index, List<Track> tracks) {
+      this.index = index;
+      this.tracks = tracks;
+    }
+
+    /**
+     * @return the index the tracks were taken from or null if all tracks were scanned.
+     */
+    Field getIndex() {
+      return index;
+    }
+
+    List<Track> getTracks() {
+      return tracks;
+    }
+  }
+
+  /**
+   * Tracks sharing a key. Views are only computed under the read lock and only dropped under the write lock.
+   */
+  private static class Bucket {
+    private final Map<String, Track> tracks = new LinkedHashMap<>();
+    private final Map<TrackQuery.Order, List<Track>> sorted = new ConcurrentHashMap<>();
+    private volatile List<Track> unsorted;
+
+    void put(String id, Track track) {
+      tracks.put(id, track);
+      invalidate();
+    }
+
+    Track remove(String id) {
+      Track removed = tracks.remove(id);
+      invalidate();
+      return removed;
+    }
+
+    void clear() {
+      tracks.clear();
+      invalidate();
+    }
+
+    List<Track> view(TrackQuery.Order order) {
+      if (order == null) {
+        List<Track> view = unsorted;
+        if (view == null) {
+          view = Collections.unmodifiableList(new ArrayList<>(tracks.values()));
+          unsorted = view;
+        }
+        return view;
+      }
+      return sorted.computeIfAbsent(order, o -> {
+        List<Track> view = new ArrayList<>(tracks.values());
+        view.sort(o.getComparator());
+        return Collections.unmodifiableList(view);
+      });
+    }
+
+    private void invalidate() {
+      unsorted = null;
+      if (!sorted.isEmpty()) {
+        sorted.clear();
+      }
+    }
+  }
+}
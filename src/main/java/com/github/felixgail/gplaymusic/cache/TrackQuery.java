@@ -0,0 +1,165 @@
+package com.github.felixgail.gplaymusic.cache;
+
+import com.github.felixgail.gplaymusic.model.Track;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Query over the tracks of a {@link LibraryTrackCache}. Obtained through {@link LibraryTrackCache#query()}.
+ * <br>
+ * Equality constraints on artist, album, genre and year are answered from hash indexes: the smallest matching
+ * index bucket is read and the remaining constraints are checked on its tracks only.
+ * Sorted results are served from presorted views that are kept until the underlying bucket changes.
+ * A query without index constraints scans all tracks, just like {@link Cache#getFiltered(Predicate)}.
+ * <br>
+ * Example: {@code cache.query().album(albumId).orderBy(TrackQuery.Order.DISC_AND_TRACK).list()}
+ * <br>
+ * Indexes follow changes made through the cache (updates, {@code add} and {@code remove}).
+ * Changes to the list returned by {@link Cache#getAll()} are not indexed.
+ */
+public class TrackQuery {
+  private final LibraryTrackCache cache;
+  private final Map<TrackIndex.Field, Object> constraints = new EnumMap<>(TrackIndex.Field.class);
+  private Predicate<? super Track> filter;
+  private Order order;
+  private long limit = -1;
+
+  TrackQuery(LibraryTrackCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Only tracks where {@link Track#getArtistId()} contains {@code artistId}.
+   */
+  public TrackQuery artist(String artistId) {
+    return constrain(TrackIndex.Field.ARTIST, artistId);
+  }
+
+  /**
+   * Only tracks with the given {@link Track#getAlbumId()}.
+   */
+  public TrackQuery album(String albumId) {
+    return constrain(TrackIndex.Field.ALBUM, albumId);
+  }
+
+  /**
+   * Only tracks of a genre. Case is ignored.
+   */
+  public TrackQuery genre(String genre) {
+    return constrain(TrackIndex.Field.GENRE, genre);
+  }
+
+  public TrackQuery year(int year) {
+    return constrain(TrackIndex.Field.YEAR, year);
+  }
+
+  /**
+   * Adds a predicate that is checked on every candidate. Multiple predicates are combined with "and".
+   */
+  @SuppressWarnings("unchecked")
+  public TrackQuery filter(Predicate<? super Track> predicate) {
+    this.filter = filter == null ? predicate : ((Predicate<Track>) filter).and(predicate);
+    return this;
+  }
+
+  /**
+   * Order of the result. Without an order tracks are returned in the order they were added to the cache.
+   */
+  public TrackQuery orderBy(Order order) {
+    this.order = order;
+    return this;
+  }
+
+  public TrackQuery limit(long limit) {
+    this.limit = limit;
+    return this;
+  }
+
+  public List<Track> list() throws IOException {
+    return stream().collect(Collectors.toList());
+  }
+
+  public Optional<Track> first() throws IOException {
+    return stream().findFirst();
+  }
+
+  public long count() throws IOException {
+    return stream().count();
+  }
+
+  /**
+   * Executes the query. The stream is backed by a snapshot, later changes of the cache do not affect it.
+   */
+  public Stream<Track> stream() throws IOException {
+    cache.initialize();
+    TrackIndex.Selection selection = cache.getIndex().select(constraints, order);
+    Stream<Track> result = selection.getTracks().stream();
+    for (Map.Entry<TrackIndex.Field, Object> constraint : constraints.entrySet()) {
+      if (constraint.getKey() != selection.getIndex()) {
+        result = result.filter(track -> TrackIndex.keys(constraint.getKey(), track).contains(constraint.getValue()));
+      }
+    }
+    if (filter != null) {
+      result = result.filter(filter);
+    }
+    return limit < 0 ? result : result.limit(limit);
+  }
+
+  /**
+   * Describes how the query would be executed, e.g. {@code "index ALBUM (12 candidates), order DISC_AND_TRACK"}.
+   */
+  public String explain() throws IOException {
+    cache.initialize();
+    TrackIndex.Selection selection = cache.getIndex().select(constraints, order);
+    return (selection.getIndex() == null ? "scan" : "index " + selection.getIndex())
+        + " (" + selection.getTracks().size() + " candidates)"
+        + (order == null ? "" : ", order " + order);
+  }
+
+  private TrackQuery constrain(TrackIndex.Field field, Object value) {
+    constraints.put(field, TrackIndex.key(field, value));
+    return this;
+  }
+
+  public enum Order {
+    /**
+     * Disc number, then track number. The order of an album.
+     */
+    DISC_AND_TRACK(Comparator.comparingInt(Track::getDiscNumber).thenComparingInt(Track::getTrackNumber)),
+    /**
+     * Most played first.
+     */
+    PLAY_COUNT(Comparator.comparingInt((Track track) -> track.getPlayCount().orElse(0)).reversed()),
+    TITLE(Comparator.comparing(Track::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))),
+    /**
+     * Oldest first, tracks of a year in album order.
+     */
+    YEAR(Comparator.comparingInt((Track track) -> track.getYear().orElse(0))
+        .thenComparing(Track::getAlbum, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+        .thenComparingInt(Track::getDiscNumber).thenComparingInt(Track::getTrackNumber)),
+    /**
+     * Artist, album, disc and track number.
+     */
+    ARTIST(Comparator.comparing(Track::getArtist, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+        .thenComparing(Track::getAlbum, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+        .thenComparingInt(Track::getDiscNumber).thenComparingInt(Track::getTrackNumber));
+
+    private final Comparator<Track> comparator;
+
+    Order(Comparator<Track> comparator) {
+      this.comparator = comparator.thenComparing(Track::getID);
+    }
+
+    public Comparator<Track> getComparator() {
+      return comparator;
+    }
+  }
+}
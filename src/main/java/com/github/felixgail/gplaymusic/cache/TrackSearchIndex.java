@@ -0,0 +1,218 @@
+package com.github.felixgail.gplaymusic.cache;
+
+import com.github.felixgail.gplaymusic.model.Track;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over title, artist, album, album artist and composer of the tracks in a {@link LibraryTrackCache},
+ * maintained incrementally through the cache hooks.
+ * <br>
+ * Text is lower cased, stripped of diacritics and split at everything that is not a letter or digit.
+ * Every query token has to match a term of the track, either exactly or as a prefix of it.
+ * Matches are scored by field weight and rarity of the term, exact matches rank above prefix matches.
+ */
+class TrackSearchIndex {
+  private final static Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+  private final static Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private final static double PREFIX_FACTOR = 0.5;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+  private final Map<String, Document> documents = new HashMap<>();
+
+  static List<String> tokenize(String text) {
+    if (text == null || text.isEmpty()) {
+      return Collections.emptyList();
+    }
+    String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+        .toLowerCase(Locale.ROOT);
+    List<String> tokens = new ArrayList<>();
+    for (String token : SEPARATOR.split(normalized)) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  void replace(Collection<Track> tracks) {
+    lock.writeLock().lock();
+    try {
+      postings.clear();
+      documents.clear();
+      tracks.forEach(this::insert);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void add(Collection<Track> tracks) {
+    lock.writeLock().lock();
+    try {
+      tracks.forEach(this::insert);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(Collection<Track> tracks) {
+    lock.writeLock().lock();
+    try {
+      tracks.forEach(track -> delete(track.getID()));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @param query      search text. Every token is also matched as prefix, so partial input works for typeahead.
+   * @param maxResults maximum amount of returned tracks.
+   * @return matching tracks, best match first.
+   */
+  List<Track> search(String query, int maxResults) {
+    List<String> tokens = tokenize(query);
+    if (tokens.isEmpty() || maxResults <= 0) {
+      return Collections.emptyList();
+    }
+    lock.readLock().lock();
+    try {
+      List<Map<String, Double>> matches = new ArrayList<>(tokens.size());
+      for (String token : new HashSet<>(tokens)) {
+        Map<String, Double> match = match(token);
+        if (match.isEmpty()) {
+          return Collections.emptyList();
+        }
+        matches.add(match);
+      }
+      matches.sort(Comparator.comparingInt(Map::size));
+      Comparator<Hit> ranking = Comparator.comparingDouble((Hit hit) -> hit.score)
+          .thenComparing((Hit hit) -> hit.track.getID(), Comparator.reverseOrder());
+      PriorityQueue<Hit> best = new PriorityQueue<>(ranking);
+      for (Map.Entry<String, Double> candidate : matches.get(0).entrySet()) {
+        double score = candidate.getValue();
+        for (int i = 1; i < matches.size() && score > 0; i++) {
+          Double other = matches.get(i).get(candidate.getKey());
+          score = other == null ? 0 : score + other;
+        }
+        if (score > 0) {
+          best.add(new Hit(documents.get(candidate.getKey()).track, score));
+          if (best.size() > maxResults) {
+            best.poll();
+          }
+        }
+      }
+      List<Track> result = new ArrayList<>(best.size());
+      while (!best.isEmpty()) {
+        result.add(best.poll().track);
+      }
+      Collections.reverse(result);
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return best score per track id for all terms equal to or starting with {@code token}.
+   */
+  private Map<String, Double> match(String token) {
+    Map<String, Double> scores = new HashMap<>();
+    for (Map.Entry<String, Map<String, Double>> term : postings.tailMap(token, true).entrySet()) {
+      if (!term.getKey().startsWith(token)) {
+        break;
+      }
+      double factor = idf(term.getValue().size()) * (term.getKey().length() == token.length() ? 1 : PREFIX_FACTOR);
+      for (Map.Entry<String, Double> posting : term.getValue().entrySet()) {
+        scores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+      }
+    }
+    return scores;
+  }
+
+  private double idf(int documentFrequency) {
+    return Math.log(1 + (double) documents.size() / documentFrequency);
+  }
+
+  private void insert(Track track) {
+    String id = track.getID();
+    delete(id);
+    Map<String, Double> weights = new HashMap<>();
+    for (Field field : Field.values()) {
+      for (String term : tokenize(field.getter.apply(track))) {
+        weights.merge(term, field.weight, Math::max);
+      }
+    }
+    weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+    documents.put(id, new Document(track, weights.keySet()));
+  }
+
+  private void delete(String id) {
+    Document document = documents.remove(id);
+    if (document == null) {
+      return;
+    }
+    for (String term : document.terms) {
+      Map<String, Double> posting = postings.get(term);
+      if (posting != null) {
+        posting.remove(id);
+        if (posting.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+  }
+
+  private enum Field {
+    TITLE(Track::getTitle, 3),
+    ARTIST(Track::getArtist, 2),
+    ALBUM(Track::getAlbum, 1.5),
+    ALBUM_ARTIST(Track::getAlbumArtist, 1),
+    COMPOSER(Track::getComposer, 0.5);
+
+    private final Function<Track, String> getter;
+    private final double weight;
+
+    Field(Function<Track, String> getter, double weight) {
+      this.getter = getter;
+      this.weight = weight;
+    }
+  }
+
+  private static class Document {
+    private final Track track;
+    private final Set<String> terms;
+
+    Document(Track track, Set<String> terms) {
+      this.track = track;
+      this.terms = terms;
+    }
+  }
+
+  private static class Hit {
+    private final Track track;
+    private final double score;
+
+    Hit(Track track, double score) {
+      this.track = track;
+      this.score = score;
+    }
+  }
+}
@@ -3,7 +3,6 @@ package com.github.felixgail.gplaymusic.exceptions;
 import com.github.felixgail.gplaymusic.util.NetworkPrettyPrinter;
 import com.github.felixgail.gplaymusic.util.language.Language;
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 import okhttp3.Response;
@@ -17,12 +16,14 @@ import java.io.Serializable;
  */
 public class NetworkException extends IOException implements Serializable {
 
+  /**
+   * Maximum amount of request and response body bytes included in {@link #toString()}.
+   */
+  public final static long MAX_PRINTED_BODY_BYTES = 4096;
   private final static Gson gson = new Gson();
-  @Expose
-  @SerializedName("error")
-  private ErrorHelper helper = new ErrorHelper();
+  private ErrorHelper helper;
 
-  private Response response;
+  private transient Response response;
 
   public NetworkException(int code, String message) {
     helper = new ErrorHelper();
@@ -30,12 +31,21 @@ public class NetworkException extends IOException implements Serializable {
     helper.setMessage(message);
   }
 
+  /**
+   * Reads the error body of {@code response}. Falls back to the status line if the body is missing or malformed.
+   */
   public static NetworkException parse(Response response) {
+    ErrorBody body = null;
     try {
-      return gson.fromJson(response.body().charStream(), NetworkException.class);
-    } catch (JsonSyntaxException e) {
+      body = gson.fromJson(response.body().charStream(), ErrorBody.class);
+    } catch (RuntimeException e) {
+      // malformed body (JsonSyntaxException, JsonIOException) or no body at all
+    }
+    if (body == null || body.error == null) {
       return new NetworkException(response.code(), response.message());
     }
+    return new NetworkException(body.error.getCode() == 0 ? response.code() : body.error.getCode(),
+        body.error.getMessage() == null ? response.message() : body.error.getMessage());
   }
 
   public int getCode() {
@@ -60,7 +70,7 @@ public class NetworkException extends IOException implements Serializable {
   private String getRequestInformation() {
 
     if (response != null) {
-      return NetworkPrettyPrinter.getRequestPrint(response.request());
+      return NetworkPrettyPrinter.getRequestPrint(response.request(), MAX_PRINTED_BODY_BYTES);
     }
     return "";
   }
@@ -69,10 +79,20 @@ public class NetworkException extends IOException implements Serializable {
   public String toString() {
     return String.format("%s:\nError Code: %d \nMessage: %s \n\n%s\n\n%s\n\n%s\n",
         Language.get("network.GenericError"), getCode(), getMessage(), getRequestInformation(),
-        NetworkPrettyPrinter.getResponsePrint(response), super.toString());
+        NetworkPrettyPrinter.getResponsePrint(response, MAX_PRINTED_BODY_BYTES), super.toString());
+  }
+
+  /**
+   * Shape of the error body sent by the server. Parsed instead of this class, which as a {@link Throwable} cannot
+   * be read reflectively on JDK 9+.
+   */
+  private static class ErrorBody {
+    @Expose
+    @SerializedName("error")
+    private ErrorHelper error;
   }
 
-  private class ErrorHelper implements Serializable {
+  private static class ErrorHelper implements Serializable {
     @Expose
     private int code;
     @Expose
@@ -111,7 +111,21 @@ public class Album implements Result, Serializable {
     return RESULT_TYPE;
   }
 
+  /**
+   * @deprecated uses the last built api instance. Use {@link #getAlbum(GPlayMusic, String, boolean)} instead.
+   */
+  @Deprecated
   public static Album getAlbum(String albumID, boolean includeTracks) throws IOException {
-    return GPlayMusic.getApiInstance().getService().getAlbum(albumID, includeTracks).execute().body();
+    return getAlbum(GPlayMusic.getApiInstance(), albumID, includeTracks);
+  }
+
+  public static Album getAlbum(GPlayMusic api, String albumID, boolean includeTracks) throws IOException {
+    Album album = api.getService().getAlbum(albumID, includeTracks).execute().body();
+    if (album != null && album.getAlbumId() != null) {
+      // a cached album with tracks is not replaced by one without
+      api.getCatalogAlbumCache().merge(album.getAlbumId(), album,
+          (cached, fetched) -> cached.getTracks().isPresent() && !fetched.getTracks().isPresent() ? cached : fetched);
+    }
+    return album;
   }
 }
@@ -105,10 +105,47 @@ public class Artist implements Result, Serializable {
    * @param numTopTracks  response includes up to provided number of most heard songs in response
    * @param numRelArtist  response includes up to provided number of similar artist in response
    * @return An executable call which returns an artist on execution.
+   * @deprecated uses the last built api instance. Use {@link #getArtist(GPlayMusic, String, boolean, int, int)}
+   * instead.
    */
+  @Deprecated
   public static Artist getArtist(String artistID, boolean includeAlbums, int numTopTracks, int numRelArtist)
       throws IOException {
-    return GPlayMusic.getApiInstance().getService().getArtist(artistID, includeAlbums, numTopTracks, numRelArtist)
+    return getArtist(GPlayMusic.getApiInstance(), artistID, includeAlbums, numTopTracks, numRelArtist);
+  }
+
+  /**
+   * Fetches for an artist by {@code artistID}.
+   *
+   * @param api           api used for the request
+   * @param artistID      {@link Artist#getArtistId()} of the artist searched for.
+   * @param includeAlbums whether albums of the artist shall be included in the response.
+   * @param numTopTracks  response includes up to provided number of most heard songs in response
+   * @param numRelArtist  response includes up to provided number of similar artist in response
+   * @return the artist
+   */
+  public static Artist getArtist(GPlayMusic api, String artistID, boolean includeAlbums, int numTopTracks,
+                                 int numRelArtist)
+      throws IOException {
+    Artist artist = api.getService().getArtist(artistID, includeAlbums, numTopTracks, numRelArtist)
         .execute().body();
+    if (artist != null) {
+      artist.getArtistId().ifPresent(id -> api.getCatalogArtistCache().merge(id, artist,
+          (cached, fetched) -> covers(fetched, cached) ? fetched : cached));
+    }
+    return artist;
+  }
+
+  /**
+   * @return whether {@code artist} contains at least the albums, top tracks and related artists of {@code other}.
+   */
+  private static boolean covers(Artist artist, Artist other) {
+    return (artist.getAlbums().isPresent() || !other.getAlbums().isPresent())
+        && size(artist.getTopTracks()) >= size(other.getTopTracks())
+        && size(artist.getRelatedArtists()) >= size(other.getRelatedArtists());
+  }
+
+  private static int size(Optional<? extends List<?>> list) {
+    return list.map(List::size).orElse(0);
   }
 }
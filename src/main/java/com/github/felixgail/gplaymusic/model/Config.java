@@ -58,4 +58,15 @@ public class Config implements Serializable {
   public void setAndroidID(String androidID) {
     this.androidID = androidID;
   }
+
+  /**
+   * @return a config with the same entries, locale and android id, which can be modified independently of this one.
+   */
+  public Config copy() {
+    Config copy = new Config();
+    copy.setMap(new HashMap<>(map));
+    copy.setLocale(locale);
+    copy.setAndroidID(androidID);
+    return copy;
+  }
 }
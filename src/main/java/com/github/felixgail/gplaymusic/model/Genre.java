@@ -10,7 +10,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
-public class Genre implements Serializable {
+public class Genre implements Model, Serializable {
 
   @Expose
   private String id;
@@ -23,25 +23,50 @@ public class Genre implements Serializable {
   @Expose
   private List<ArtRef> images;
 
+  private transient GPlayMusic api;
+
   /**
    * Returns a list of the base genres
+   *
+   * @deprecated uses the last built api instance. Use {@link #get(GPlayMusic, Genre)} instead.
    */
+  @Deprecated
   public static List<Genre> get() throws IOException {
-    return get(null);
+    return get(GPlayMusic.getApiInstance(), null);
   }
 
   /**
    * @param parent a parent genre, for a list of the base genres.
+   * @deprecated uses the last built api instance. Use {@link #get(GPlayMusic, Genre)} instead.
    */
+  @Deprecated
   public static List<Genre> get(Genre parent) throws IOException {
+    return get(GPlayMusic.getApiInstance(), parent);
+  }
+
+  /**
+   * @param api    api used for the request
+   * @param parent a parent genre, or null for a list of the base genres.
+   */
+  public static List<Genre> get(GPlayMusic api, Genre parent) throws IOException {
     String id = "";
     if (parent != null) {
       id = parent.getId();
     }
-    return GPlayMusic.getApiInstance().getService()
+    return api.getService()
         .getGenres(id).execute().body().getGenres().orElse(Collections.emptyList());
   }
 
+  @Override
+  public GPlayMusic getApi() {
+    return api != null ? api : GPlayMusic.getApiInstance();
+  }
+
+  @Override
+  public void setApi(GPlayMusic api) {
+    this.api = api;
+  }
+
   /**
    * Returns the identification of this genre. Genre ids readable and uppercase, e.g. "ROCK".
    */
@@ -63,7 +88,7 @@ public class Genre implements Serializable {
 
   public Optional<List<Genre>> getChildren() throws IOException {
     if (children != null) {
-      return Optional.of(get(this));
+      return Optional.of(get(getApi(), this));
     }
     return Optional.empty();
   }
@@ -0,0 +1,19 @@
+package com.github.felixgail.gplaymusic.model;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+
+/**
+ * Implemented by models that make calls to the service themselves, e.g. {@link Track#getStreamURL}.
+ * Models returned by a {@link GPlayMusic} instance are bound to it, so multiple instances
+ * (e.g. for different accounts) can be used side by side.
+ */
+public interface Model {
+
+  /**
+   * @return the api this model is bound to. Models that were not bound (e.g. created via a constructor)
+   * use the last built instance ({@link GPlayMusic#getApiInstance()}).
+   */
+  GPlayMusic getApi();
+
+  void setApi(GPlayMusic api);
+}
@@ -3,9 +3,12 @@ package com.github.felixgail.gplaymusic.model;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class MutationResponse implements Serializable {
 
@@ -17,9 +20,37 @@ public class MutationResponse implements Serializable {
     return mutate_response;
   }
 
+  /**
+   * Appends an item to this response. Used when merging the responses of multiple batch calls.
+   */
+  public void addItem(Item item) {
+    mutate_response.add(item);
+  }
+
+  /**
+   * Appends an item for a mutation that could not be executed, because its batch call failed.
+   *
+   * @param cause the exception that caused the batch call to fail
+   * @return the newly added item
+   */
+  public Item addFailedItem(IOException cause) {
+    Item item = new Item();
+    item.response_code = Item.FAILED_CODE;
+    item.exception = cause;
+    mutate_response.add(item);
+    return item;
+  }
+
+  /**
+   * Returns all items whose mutation was not accepted by the server or not sent at all.
+   */
+  public List<Item> getFailedItems() {
+    return mutate_response.stream().filter(item -> !item.isSuccess()).collect(Collectors.toList());
+  }
+
   public boolean checkSuccess() {
     for (Item item : mutate_response) {
-      if (!item.getResponse_code().matches("^(OK|CONFLICT)$")) {
+      if (!item.isSuccess()) {
         return false;
       }
     }
@@ -28,6 +59,11 @@ public class MutationResponse implements Serializable {
 
 
   public class Item implements Serializable {
+    /**
+     * Response code of items whose mutation could not be sent or answered. See {@link #getException()}.
+     */
+    public final static String FAILED_CODE = "CLIENT_FAILED";
+
     @Expose
     private String id;
     @Expose
@@ -38,6 +74,8 @@ public class MutationResponse implements Serializable {
     @Expose
     private Station station;
 
+    private transient IOException exception;
+
     public String getId() {
       return id;
     }
@@ -62,6 +100,21 @@ public class MutationResponse implements Serializable {
       this.response_code = response_code;
     }
 
+    /**
+     * Returns whether the server accepted the mutation belonging to this item.
+     * Conflicts are treated as success, as the requested state is already present.
+     */
+    public boolean isSuccess() {
+      return response_code != null && response_code.matches("^(OK|CONFLICT)$");
+    }
+
+    /**
+     * Returns the exception that prevented the mutation of this item from being executed, if any.
+     */
+    public Optional<IOException> getException() {
+      return Optional.ofNullable(exception);
+    }
+
     public boolean hasStationKey() {
       return (station != null);
     }
@@ -1,6 +1,8 @@
 package com.github.felixgail.gplaymusic.model;
 
 import com.github.felixgail.gplaymusic.model.responses.ListResult;
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
 
 import java.io.IOException;
 import java.util.LinkedList;
@@ -21,12 +23,17 @@ public abstract class PagingHandler<T> {
     if (current != null) {
       nextPageToken = current.getNextPageToken();
     }
-    ListResult<T> chunk = getChunk(nextPageToken);
-    if (chunk.getNextPageToken() == null || chunk.getNextPageToken().equals(nextPageToken)) {
-      hasNext = false;
+    List<T> page;
+    try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.PAGE, getClass().getName())) {
+      ListResult<T> chunk = getChunk(nextPageToken);
+      if (chunk.getNextPageToken() == null || chunk.getNextPageToken().equals(nextPageToken)) {
+        hasNext = false;
+      }
+      current = chunk;
+      page = chunk.toList();
+      span.succeeded(page.size());
     }
-    current = chunk;
-    return chunk.toList();
+    return page;
   }
 
   public List<T> getAll() throws IOException {
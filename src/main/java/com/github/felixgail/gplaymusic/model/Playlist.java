@@ -4,6 +4,7 @@ import com.fasterxml.uuid.Generators;
 import com.github.felixgail.gplaymusic.api.GPlayMusic;
 import com.github.felixgail.gplaymusic.cache.Cache;
 import com.github.felixgail.gplaymusic.cache.PrivatePlaylistEntriesCache;
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
 import com.github.felixgail.gplaymusic.model.enums.ResultType;
 import com.github.felixgail.gplaymusic.model.requests.SharedPlaylistRequest;
 import com.github.felixgail.gplaymusic.model.requests.mutations.Mutation;
@@ -11,23 +12,30 @@ import com.github.felixgail.gplaymusic.model.requests.mutations.MutationFactory;
 import com.github.felixgail.gplaymusic.model.requests.mutations.Mutator;
 import com.github.felixgail.gplaymusic.model.responses.Result;
 import com.github.felixgail.gplaymusic.model.snippets.ArtRef;
+import com.github.felixgail.gplaymusic.util.ReorderPlanner;
+import com.github.felixgail.gplaymusic.util.language.Language;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 //TODO: Split into Public and Private Playlist. What to do about magic playlists?
-public class Playlist implements Result, Serializable {
+public class Playlist implements Model, Result, Serializable {
   public final static ResultType RESULT_TYPE = ResultType.PLAYLIST;
   public final static String BATCH_URL = "playlistbatch";
-  private static PrivatePlaylistEntriesCache cache = new PrivatePlaylistEntriesCache();
 
   @Expose
   private String name;
@@ -63,6 +71,8 @@ public class Playlist implements Result, Serializable {
   @Expose
   private PlaylistShareState shareState;
 
+  private transient GPlayMusic api;
+
   private Playlist(String name, String id, PlaylistShareState shareState, String description, PlaylistType type,
                    String lastModifiedTimestamp, String creationTimestamp) {
     this.name = name;
@@ -74,8 +84,23 @@ public class Playlist implements Result, Serializable {
     this.creationTimestamp = creationTimestamp;
   }
 
+  /**
+   * @deprecated uses the last built api instance. Use {@link #Playlist(GPlayMusic, String)} instead.
+   */
+  @Deprecated
   public Playlist(String id) throws IOException {
-    Optional<Playlist> playlistOptional = GPlayMusic.getApiInstance().listPlaylists()
+    this(GPlayMusic.getApiInstance(), id);
+  }
+
+  /**
+   * Looks up a playlist of the user by its id.
+   *
+   * @param api api used to look up the playlist and bound to the created object
+   * @param id  id of the playlist
+   */
+  public Playlist(GPlayMusic api, String id) throws IOException {
+    this.api = api;
+    Optional<Playlist> playlistOptional = api.listPlaylists()
         .stream().filter(p -> p.getId().equals(id)).findFirst();
     if (playlistOptional.isPresent()) {
       Playlist remote = playlistOptional.get();
@@ -109,39 +134,78 @@ public class Playlist implements Result, Serializable {
    * @return The newly created Playlist. Warning: Playlist is not filled yet and timestamps are not valid
    * (Systemtime@Request != Servertime@Creation)
    * @throws IOException
+   * @deprecated uses the last built api instance. Use {@link #create(GPlayMusic, String, String, PlaylistShareState)}
+   * instead.
    */
+  @Deprecated
   public static Playlist create(String name, String description, PlaylistShareState shareState)
       throws IOException {
+    return create(GPlayMusic.getApiInstance(), name, description, shareState);
+  }
+
+  /**
+   * Creates a new playlist.
+   *
+   * @param api         api the playlist is created with
+   * @param name        Name of the playlist. <b>Doesn't</b> have to be unique
+   * @param description Optional. A description for the playlist.
+   * @param shareState  share state of the playlist. defaults to {@link PlaylistShareState#PRIVATE} on null.
+   * @return The newly created Playlist. Warning: Playlist is not filled yet and timestamps are not valid
+   * (Systemtime@Request != Servertime@Creation)
+   * @throws IOException
+   */
+  public static Playlist create(GPlayMusic api, String name, String description, PlaylistShareState shareState)
+      throws IOException {
     Mutator mutator = new Mutator(MutationFactory.getAddPlaylistMutation(name, description, shareState));
     String systemTime = Long.toString(System.currentTimeMillis());
-    MutationResponse response = GPlayMusic.getApiInstance().getService().makeBatchCall(BATCH_URL, mutator);
+    MutationResponse response = api.getService().makeBatchCall(BATCH_URL, mutator);
     String id = response.getItems().get(0).getId();
-    return new Playlist(name, id, (shareState == null ? PlaylistShareState.PRIVATE : shareState),
+    Playlist playlist = new Playlist(name, id, (shareState == null ? PlaylistShareState.PRIVATE : shareState),
         description, PlaylistType.USER_GENERATED, systemTime, systemTime);
+    playlist.setApi(api);
+    return playlist;
   }
 
   /**
-   * {@link PlaylistEntry}s from private Playlists can only be fetched as whole.
-   * To shorten wait times, collected entries are cached.
-   * Please consider updating the cache (asynchronously) when using the api over a long period of time, or when
-   * new entries could be added to the playlists during runtime.
-   * <br>
-   * If outside access to the library is expected during runtime, disabling caching via {@link #setUseCache(boolean)}
-   * should also be considered.
+   * Updates the playlist entry cache of the last built api instance.
+   *
+   * @deprecated caches are kept per api instance. Use {@link GPlayMusic#getPlaylistEntryCache()} instead.
    */
+  @Deprecated
   public static void updateCache() throws IOException {
-    cache.update();
+    GPlayMusic.getApiInstance().getPlaylistEntryCache().update();
   }
 
   /**
-   * Enables/Disables caching of {@link PlaylistEntry}s from private playlists.
+   * Enables/Disables caching of {@link PlaylistEntry}s from private playlists for the last built api instance.
+   *
+   * @deprecated caches are kept per api instance. Use {@link GPlayMusic#getPlaylistEntryCache()} instead.
    */
+  @Deprecated
   public static void setUseCache(boolean useCache) {
-    cache.setUseCache(useCache);
+    GPlayMusic.getApiInstance().getPlaylistEntryCache().setUseCache(useCache);
   }
 
+  /**
+   * @deprecated caches are kept per api instance. Use {@link GPlayMusic#getPlaylistEntryCache()} instead.
+   */
+  @Deprecated
   public static Cache<PlaylistEntry> getCache() {
-    return cache;
+    return GPlayMusic.getApiInstance().getPlaylistEntryCache();
+  }
+
+  @Override
+  public GPlayMusic getApi() {
+    return api != null ? api : GPlayMusic.getApiInstance();
+  }
+
+  @Override
+  public void setApi(GPlayMusic api) {
+    this.api = api;
+  }
+
+  private PrivatePlaylistEntriesCache getEntryCache() {
+    return getApi().getPlaylistEntryCache();
   }
 
   public String getName() {
@@ -230,19 +294,29 @@ public class Playlist implements Result, Serializable {
   }
 
   public void delete() throws IOException {
-    GPlayMusic.getApiInstance().deletePlaylists(this);
+    getApi().deletePlaylists(this);
   }
 
   /**
    * Adds {@link Track}s to this playlist.
+   * Large lists are sent in multiple chunks (see {@link GPlayMusic#makeChunkedBatchCall(String, Mutator)}).
+   * <br>
+   * The created entries are inserted into the entry cache directly from the mutation response.
+   * The cache is only updated from the server if the response can not be matched to the added tracks.
+   * If the cache has not been initialized yet, it is left untouched.
+   * <br>
+   * The server does not report the positions of the new entries, so they carry none until the cache is updated.
+   * Entries without position are sorted after all others, in the order they were added.
    *
    * @param tracks Array of tracks to be added
-   * @throws IOException
+   * @return the created entries, in the order of the given tracks.
+   * @throws IOException on severe failures or a {@link NetworkException} if some tracks could not be added.
+   *                     Tracks added successfully remain in the playlist.
    */
-  public void addTracks(List<Track> tracks)
+  public List<PlaylistEntry> addTracks(List<Track> tracks)
       throws IOException {
-    List<PlaylistEntry> playlistEntries = new LinkedList<>();
     Mutator mutator = new Mutator();
+    List<UUID> clientIDs = new ArrayList<>(tracks.size());
     UUID last = null;
     UUID current = Generators.timeBasedGenerator().generate();
     UUID next = Generators.timeBasedGenerator().generate();
@@ -250,19 +324,145 @@ public class Playlist implements Result, Serializable {
       Mutation currentMutation = MutationFactory.
           getAddPlaylistEntryMutation(this, track, last, current, next);
       mutator.addMutation(currentMutation);
+      clientIDs.add(current);
       last = current;
       current = next;
       next = Generators.timeBasedGenerator().generate();
     }
-    MutationResponse response = GPlayMusic.getApiInstance().getService().makeBatchCall(PlaylistEntry.BATCH_URL, mutator);
-    Playlist.updateCache();
+    MutationResponse response = getApi().makeChunkedBatchCall(PlaylistEntry.BATCH_URL, mutator);
+    List<PlaylistEntry> added = applyAddedEntries(tracks, clientIDs, response);
+    List<MutationResponse.Item> failed = response.getFailedItems();
+    if (!failed.isEmpty()) {
+      throw new NetworkException(400, String.format(Language.get("mutation.PartialFailure"),
+          failed.size(), tracks.size()));
+    }
+    return added;
+  }
+
+  /**
+   * Inserts the entries created by {@link #addTracks(List)} into the cache.
+   * Falls back to updating the whole cache if the response is ambiguous.
+   */
+  private List<PlaylistEntry> applyAddedEntries(List<Track> tracks, List<UUID> clientIDs,
+                                                MutationResponse response) throws IOException {
+    List<MutationResponse.Item> items = response.getItems();
+    boolean ambiguous = items.size() != tracks.size();
+    String timestamp = Long.toString(System.currentTimeMillis());
+    List<PlaylistEntry> added = new ArrayList<>(tracks.size());
+    for (int i = 0; i < tracks.size() && !ambiguous; i++) {
+      MutationResponse.Item item = items.get(i);
+      String clientID = clientIDs.get(i).toString();
+      if (!item.isSuccess() || item.getId() == null
+          || (item.getClientID() != null && !item.getClientID().equals(clientID))) {
+        ambiguous = true;
+        break;
+      }
+      added.add(newEntry(item.getId(), clientID, tracks.get(i), timestamp));
+    }
+    if (!ambiguous) {
+      if (getEntryCache().isInitialized()) {
+        getEntryCache().add(added);
+      }
+      return added;
+    }
+    getEntryCache().update();
+    Map<String, PlaylistEntry> byClientID = getEntryCache().getStream()
+        .filter(entry -> entry.getClientId() != null)
+        .collect(Collectors.toMap(PlaylistEntry::getClientId, entry -> entry, (a, b) -> a));
+    return clientIDs.stream()
+        .map(id -> byClientID.get(id.toString()))
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  private PlaylistEntry newEntry(String id, String clientID, Track track, String timestamp) {
+    PlaylistEntry entry = new PlaylistEntry(id, clientID, getId(), track.getID(), track, null, timestamp,
+        track.getID().startsWith("T") ? "2" : "1");
+    entry.setApi(getApi());
+    return entry;
+  }
+
+  /**
+   * Changes the contents of this playlist to the given tracks.
+   * The cached entries are compared to {@code desired}: entries of tracks that are no longer wanted are deleted,
+   * entries of tracks that are kept are reordered with the minimal amount of moves (see {@link #reorder(List)})
+   * and entries for new tracks are created at their place. All mutations are sent in as few batch calls as possible
+   * (see {@link GPlayMusic#makeChunkedBatchCall(String, Mutator)}).
+   * <br>
+   * If a track appears multiple times, existing entries of this track are kept in their current order and
+   * missing ones are created.
+   *
+   * After the mutations have been sent the entry cache is updated from the server, as the positions of moved and
+   * created entries are assigned by the server.
+   *
+   * @param desired the tracks this playlist should contain, in the desired order.
+   * @return the entries of this playlist after the sync, in the order of {@code desired}.
+   * @throws IOException on severe failures or a {@link NetworkException} if some mutations failed.
+   */
+  public List<PlaylistEntry> syncTo(List<Track> desired) throws IOException {
+    List<PlaylistEntry> current = getContentsForUserGeneratedPlaylist(-1);
+    Map<String, LinkedList<PlaylistEntry>> byTrackID = new HashMap<>();
+    for (PlaylistEntry entry : current) {
+      byTrackID.computeIfAbsent(entry.getTrackId(), id -> new LinkedList<>()).add(entry);
+    }
+
+    // Match desired tracks to existing entries. Unmatched tracks (null) will be created.
+    List<PlaylistEntry> matched = new ArrayList<>(desired.size());
+    List<PlaylistEntry> kept = new ArrayList<>();
+    for (Track track : desired) {
+      LinkedList<PlaylistEntry> candidates = byTrackID.get(track.getID());
+      PlaylistEntry entry = candidates == null ? null : candidates.pollFirst();
+      matched.add(entry);
+      if (entry != null) {
+        kept.add(entry);
+      }
+    }
+    Set<PlaylistEntry> keptSet = new HashSet<>(kept);
+    List<PlaylistEntry> deleted = current.stream()
+        .filter(entry -> !keptSet.contains(entry))
+        .collect(Collectors.toList());
+    List<PlaylistEntry> keptInCurrentOrder = current.stream()
+        .filter(keptSet::contains)
+        .collect(Collectors.toList());
+
+    Mutator mutator = new Mutator();
+    for (PlaylistEntry entry : deleted) {
+      mutator.addMutation(MutationFactory.getDeletePlaylistEntryMutation(entry));
+    }
+    for (ReorderPlanner.Move<PlaylistEntry> move : ReorderPlanner.plan(keptInCurrentOrder, kept)) {
+      mutator.addMutation(MutationFactory.getReorderPlaylistEntryMutation(move.getItem(),
+          move.getPreceding(), move.getFollowing()));
+    }
+    String[] clientIDs = new String[desired.size()];
+    for (int i = 0; i < desired.size(); i++) {
+      clientIDs[i] = matched.get(i) != null
+          ? matched.get(i).getClientId() : Generators.timeBasedGenerator().generate().toString();
+    }
+    for (int i = 0; i < desired.size(); i++) {
+      if (matched.get(i) == null) {
+        mutator.addMutation(MutationFactory.getInsertPlaylistEntryMutation(this, desired.get(i),
+            i > 0 ? clientIDs[i - 1] : null, clientIDs[i], i + 1 < desired.size() ? clientIDs[i + 1] : null));
+      }
+    }
+    if (mutator.getMutations().isEmpty()) {
+      return matched;
+    }
+
+    MutationResponse response = getApi().makeChunkedBatchCall(PlaylistEntry.BATCH_URL, mutator);
+    List<MutationResponse.Item> failed = response.getFailedItems();
+    getEntryCache().update();
+    if (!failed.isEmpty()) {
+      throw new NetworkException(400, String.format(Language.get("mutation.PartialFailure"),
+          failed.size(), mutator.getMutations().size()));
+    }
+    return getContentsForUserGeneratedPlaylist(-1);
   }
 
   /**
    * see javadoc at {@link #addTracks(List)}.
    */
-  public void addTracks(Track... tracks) throws IOException {
-    addTracks(Arrays.asList(tracks));
+  public List<PlaylistEntry> addTracks(Track... tracks) throws IOException {
+    return addTracks(Arrays.asList(tracks));
   }
 
   /**
@@ -284,7 +484,7 @@ public class Playlist implements Result, Serializable {
 
   private List<PlaylistEntry> getContentsForUserGeneratedPlaylist(int maxResults)
       throws IOException {
-    return cache.getStream()
+    return getEntryCache().getStream()
         .filter(entry -> entry.getPlaylistId().equals(getId()))
         .filter(entry -> !entry.isDeleted())
         .sorted(PlaylistEntry::compareTo)
@@ -295,11 +495,70 @@ public class Playlist implements Result, Serializable {
   private List<PlaylistEntry> getContentsForSharedPlaylist(int maxResults)
       throws IOException {
     SharedPlaylistRequest requestBody = new SharedPlaylistRequest(this, maxResults);
-    return GPlayMusic.getApiInstance().getService().listSharedPlaylistEntries(requestBody).execute().body().toList();
+    return getApi().getService().listSharedPlaylistEntries(requestBody).execute().body().toList();
+  }
+
+  /**
+   * Reorders the entries of this playlist.
+   * Only entries that are out of place (not part of a longest increasing subsequence of the current order) are
+   * moved, all moves are sent in a single batch call (see {@link ReorderPlanner}).
+   *
+   * @param targetOrder all entries of this playlist in the desired order.
+   * @return the number of moved entries.
+   * @throws IOException on severe failures or a {@link NetworkException} if some entries could not be moved.
+   *                     In that case the entry cache is updated from the server.
+   */
+  public int reorder(List<PlaylistEntry> targetOrder) throws IOException {
+    List<PlaylistEntry> current = getContentsForUserGeneratedPlaylist(-1);
+    Map<String, PlaylistEntry> byID = current.stream()
+        .collect(Collectors.toMap(PlaylistEntry::getId, entry -> entry));
+    List<PlaylistEntry> target = new ArrayList<>(targetOrder.size());
+    for (PlaylistEntry entry : targetOrder) {
+      PlaylistEntry cached = byID.get(entry.getId());
+      if (cached == null) {
+        throw new IllegalArgumentException("Entry is not part of this playlist: " + entry.getId());
+      }
+      target.add(cached);
+    }
+    List<ReorderPlanner.Move<PlaylistEntry>> moves = ReorderPlanner.plan(current, target);
+    if (moves.isEmpty()) {
+      return 0;
+    }
+    Mutator mutator = new Mutator();
+    for (ReorderPlanner.Move<PlaylistEntry> move : moves) {
+      mutator.addMutation(MutationFactory.getReorderPlaylistEntryMutation(move.getItem(),
+          move.getPreceding(), move.getFollowing()));
+    }
+    MutationResponse response = getApi().makeChunkedBatchCall(PlaylistEntry.BATCH_URL, mutator);
+    List<MutationResponse.Item> failed = response.getFailedItems();
+    if (!failed.isEmpty()) {
+      getEntryCache().update();
+      throw new NetworkException(400, String.format(Language.get("mutation.PartialFailure"),
+          failed.size(), moves.size()));
+    }
+    if (current.stream().anyMatch(entry -> entry.getAbsolutePosition() == null)) {
+      // positions of entries added since the last update are unknown and can not be handed out
+      getEntryCache().update();
+    } else {
+      reassignPositions(current, target);
+    }
+    return moves.size();
+  }
+
+  /**
+   * Hands out the positions of {@code current} (which is sorted by position) to the entries in {@code target} order.
+   */
+  private static void reassignPositions(List<PlaylistEntry> current, List<PlaylistEntry> target) {
+    List<String> positions = current.stream()
+        .map(PlaylistEntry::getAbsolutePosition)
+        .collect(Collectors.toList());
+    for (int i = 0; i < target.size(); i++) {
+      target.get(i).setAbsolutePosition(positions.get(i));
+    }
   }
 
   public void removeEntries(List<PlaylistEntry> entries) throws IOException {
-    GPlayMusic.getApiInstance().deletePlaylistEntries(entries);
+    getApi().deletePlaylistEntries(entries);
   }
 
   public void removeEntries(PlaylistEntry... entries) throws IOException {
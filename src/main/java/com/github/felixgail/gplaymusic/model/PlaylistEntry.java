@@ -9,10 +9,13 @@ import com.google.gson.annotations.Expose;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
 
-public class PlaylistEntry implements Serializable {
+public class PlaylistEntry implements Model, Serializable {
   public final static String BATCH_URL = "plentriesbatch";
   private final static Gson prettyGson = new GsonBuilder().setPrettyPrinting().create();
+  private final static Comparator<String> POSITION_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
 
   @Expose
   private String id;
@@ -35,6 +38,8 @@ public class PlaylistEntry implements Serializable {
   @Expose
   private Track track;
 
+  private transient GPlayMusic api;
+
   PlaylistEntry(String id, String clientId, String playlistId, Track track, String creationTimestamp,
                 String lastModifiedTimestamp, String source, boolean deleted) {
     this.id = id;
@@ -48,6 +53,23 @@ public class PlaylistEntry implements Serializable {
     this.deleted = deleted;
   }
 
+  PlaylistEntry(String id, String clientId, String playlistId, String trackId, Track track,
+                String absolutePosition, String timestamp, String source) {
+    this(id, clientId, playlistId, track, timestamp, timestamp, source, false);
+    this.trackId = trackId;
+    this.absolutePosition = absolutePosition;
+  }
+
+  @Override
+  public GPlayMusic getApi() {
+    return api != null ? api : GPlayMusic.getApiInstance();
+  }
+
+  @Override
+  public void setApi(GPlayMusic api) {
+    this.api = api;
+  }
+
   public String getId() {
     return id;
   }
@@ -64,7 +86,7 @@ public class PlaylistEntry implements Serializable {
     return absolutePosition;
   }
 
-  private void setAbsolutePosition(String position) {
+  void setAbsolutePosition(String position) {
     this.absolutePosition = position;
   }
 
@@ -92,12 +114,27 @@ public class PlaylistEntry implements Serializable {
     if (track != null) {
       return track;
     }
-    return Track.getTrack(getTrackId());
+    return Track.getTrack(getApi(), getTrackId());
   }
 
   public void delete()
       throws IOException {
-    GPlayMusic.getApiInstance().deletePlaylistEntries(this);
+    getApi().deletePlaylistEntries(this);
+  }
+
+  /**
+   * Deletes this entry through the {@link com.github.felixgail.gplaymusic.model.requests.mutations.MutationBatcher}
+   * of the api. Deletions and moves issued in short succession are sent as a single batch call.
+   *
+   * @return a future completed with the response item once the batch was sent.
+   */
+  public CompletableFuture<MutationResponse.Item> deleteAsync() {
+    return getApi().getMutationBatcher(BATCH_URL)
+        .submit(MutationFactory.getDeletePlaylistEntryMutation(this))
+        .thenApply(item -> {
+          getApi().getPlaylistEntryCache().remove(this);
+          return item;
+        });
   }
 
   /**
@@ -114,7 +151,27 @@ public class PlaylistEntry implements Serializable {
       throws IOException {
     Mutator mutator = new Mutator(MutationFactory.
         getReorderPlaylistEntryMutation(this, preceding, following));
-    GPlayMusic.getApiInstance().getService().makeBatchCall(BATCH_URL, mutator);
+    getApi().getService().makeBatchCall(BATCH_URL, mutator);
+    applyMove(preceding, following);
+  }
+
+  /**
+   * Same as {@link #move(PlaylistEntry, PlaylistEntry)}, but sent through the
+   * {@link com.github.felixgail.gplaymusic.model.requests.mutations.MutationBatcher} of the api.
+   * Moves issued in short succession are sent as a single batch call, in the order they were issued.
+   *
+   * @return a future completed with the response item once the batch was sent.
+   */
+  public CompletableFuture<MutationResponse.Item> moveAsync(PlaylistEntry preceding, PlaylistEntry following) {
+    return getApi().getMutationBatcher(BATCH_URL)
+        .submit(MutationFactory.getReorderPlaylistEntryMutation(this, preceding, following))
+        .thenApply(item -> {
+          applyMove(preceding, following);
+          return item;
+        });
+  }
+
+  private synchronized void applyMove(PlaylistEntry preceding, PlaylistEntry following) {
     String tmp = getAbsolutePosition();
     if (preceding != null && compareTo(preceding) < 0) {
       setAbsolutePosition(preceding.getAbsolutePosition());
@@ -126,8 +183,11 @@ public class PlaylistEntry implements Serializable {
     }
   }
 
+  /**
+   * Compares by position. Entries without position (added since the last cache update) are sorted last.
+   */
   public int compareTo(PlaylistEntry entry) {
-    return getAbsolutePosition().compareTo(entry.getAbsolutePosition());
+    return POSITION_ORDER.compare(getAbsolutePosition(), entry.getAbsolutePosition());
   }
 
   public String string() {
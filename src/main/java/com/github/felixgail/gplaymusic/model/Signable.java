@@ -16,7 +16,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.IntStream;
 
-public abstract class Signable {
+public abstract class Signable implements Model {
   protected static final Map<String, String> EMPTY_MAP = new HashMap<>();
   protected static final Map<String, String> STATION_MAP = new HashMap<>();
   private final static byte[] s1 = Base64.getDecoder()
@@ -27,6 +27,8 @@ public abstract class Signable {
           "GJI30aswkgCWTDyHkTGK9ynlqTkJ5L4CiGGUabGeo8M6JTQ==");
   private final static byte[] key;
 
+  private transient GPlayMusic api;
+
   static {
     STATION_MAP.put("audio_formats", "mp3");
   }
@@ -43,6 +45,16 @@ public abstract class Signable {
     }
   }
 
+  @Override
+  public GPlayMusic getApi() {
+    return api != null ? api : GPlayMusic.getApiInstance();
+  }
+
+  @Override
+  public void setApi(GPlayMusic api) {
+    this.api = api;
+  }
+
   public abstract String getID();
 
   public abstract Signature getSignature();
@@ -81,7 +93,7 @@ public abstract class Signable {
                            Provider provider, Map<String, String> kwargs)
       throws IOException {
     Signature sig = getSignature();
-    GPlayMusic api = GPlayMusic.getApiInstance();
+    GPlayMusic api = getApi();
     if (getID().matches("^[TD]\\S*$")) {
       return new URL(api.getService().getTrackLocationMJCK(api.getConfig().getAndroidID(), provider,
           quality, sig.getSalt(), sig.getSignature(), getID(), kwargs
@@ -9,6 +9,7 @@ import com.github.felixgail.gplaymusic.model.requests.mutations.Mutator;
 import com.github.felixgail.gplaymusic.model.responses.Result;
 import com.github.felixgail.gplaymusic.model.snippets.ArtRef;
 import com.github.felixgail.gplaymusic.model.snippets.StationSeed;
+import com.github.felixgail.gplaymusic.util.RecentlyPlayedHistory;
 import com.github.felixgail.gplaymusic.util.language.Language;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -18,13 +19,19 @@ import com.google.gson.annotations.SerializedName;
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
-public class Station implements Result, Serializable {
+public class Station implements Model, Result, Serializable {
   public final static ResultType RESULT_TYPE = ResultType.STATION;
   public final static String BATCH_URL = "radio/editstation";
   private final static Gson gson = new GsonBuilder().setPrettyPrinting().create();
@@ -63,6 +70,9 @@ public class Station implements Result, Serializable {
   @Expose
   private String byline;
 
+  private transient RecentlyPlayedHistory history;
+  private transient GPlayMusic api;
+
   public Station(@NotNull final String name, @NotNull final StationSeed seed, final List<Track> tracks) {
     this.name = name;
     this.seed = seed;
@@ -81,11 +91,29 @@ public class Station implements Result, Serializable {
    * @param includeTracks whether the response should
    * @return Returns the newly created station
    * @throws IOException
+   * @deprecated uses the last built api instance. Use {@link #create(GPlayMusic, StationSeed, String, boolean)} instead.
    */
+  @Deprecated
   public static Station create(final StationSeed seed, final String name, final boolean includeTracks)
       throws IOException {
+    return create(GPlayMusic.getApiInstance(), seed, name, includeTracks);
+  }
+
+  /**
+   * Creates a new Station.
+   *
+   * @param api           api the station is created with
+   * @param seed          a seed to build the station upon.
+   * @param name          name of the new station
+   * @param includeTracks whether the response should
+   * @return Returns the newly created station
+   * @throws IOException
+   */
+  public static Station create(final GPlayMusic api, final StationSeed seed, final String name,
+                               final boolean includeTracks)
+      throws IOException {
     final Mutator mutator = new Mutator(MutationFactory.getAddStationMutation(name, seed, includeTracks));
-    final MutationResponse response = GPlayMusic.getApiInstance().getService().makeBatchCall(BATCH_URL, mutator);
+    final MutationResponse response = api.getService().makeBatchCall(BATCH_URL, mutator);
     MutationResponse.Item item = response.getItems().get(0);
     if (item.hasStationKey()) {
       return item.getStation();
@@ -93,6 +121,44 @@ public class Station implements Result, Serializable {
     throw new NetworkException(400, Language.get("station.create.NetworkException"));
   }
 
+  /**
+   * Fills multiple stations with tracks using a single request.
+   * The returned tracks and session tokens are handed to the corresponding station and can afterwards be
+   * retrieved via {@link #getTracks(List, boolean, boolean)} with {@code newCall} set to false.
+   * <br>
+   * Like {@link #getNextTracks(int)}, the {@link #getHistory()} of every station is used to exclude
+   * recently played tracks and is updated with the returned tracks.
+   *
+   * @param stations   stations to fill. The request is sent with the api of the first station.
+   * @param numEntries number of tracks requested per station. Values outside of 0 to 78 default to 25.
+   * @throws IOException on severe failures (no internet connection...)
+   *                     or a {@link NetworkException} on request failures.
+   */
+  public static void fillStations(Collection<Station> stations, int numEntries)
+      throws IOException {
+    if (stations.isEmpty()) {
+      return;
+    }
+    List<Station> requested = new ArrayList<>(stations);
+    ListStationTracksRequest request = new ListStationTracksRequest(requested, numEntries);
+    List<Station> returned = requested.get(0).getApi().getService().getFilledStations(request)
+        .execute().body().toList();
+    Map<String, Station> returnedByID = new HashMap<>();
+    for (Station station : returned) {
+      if (station.id != null) {
+        returnedByID.put(station.id, station);
+      }
+    }
+    for (int i = 0; i < requested.size(); i++) {
+      Station station = requested.get(i);
+      Station filled = returnedByID.get(station.getId());
+      if (filled == null && returned.size() == requested.size()) {
+        filled = returned.get(i);
+      }
+      station.removeAndRecordHistory(station.applyFilledStation(filled));
+    }
+  }
+
   public String getName() {
     return name;
   }
@@ -130,7 +196,7 @@ public class Station implements Result, Serializable {
       return id;
     }
     if (getSeed() != null) {
-      Station createOrGet = Station.create(getSeed(), getName(), false);
+      Station createOrGet = create(getApi(), getSeed(), getName(), false);
       this.id = createOrGet.id;
       this.clientId = createOrGet.clientId;
       return id;
@@ -160,29 +226,89 @@ public class Station implements Result, Serializable {
   public List<Track> getTracks(List<Track> recentlyPlayed, boolean newCall, boolean forceRemoveDoubles)
       throws IOException {
     if (!newCall) {
-      return Optional.of(tracks).orElse(Collections.emptyList());
+      return Optional.ofNullable(tracks).orElse(Collections.emptyList());
     }
     ListStationTracksRequest request = new ListStationTracksRequest(this, 25, recentlyPlayed);
-    Station returnedStation = GPlayMusic.getApiInstance().getService().getFilledStations(request)
+    Station returnedStation = getApi().getService().getFilledStations(request)
         .execute().body().toList().get(0);
-    Optional<List<Track>> trackOptional = Optional.ofNullable(returnedStation.tracks);
-    sessionToken = returnedStation.sessionToken;
-    List<Track> tracks = trackOptional.orElse(Collections.emptyList());
-    tracks.forEach(t -> t.setSessionToken(sessionToken));
-    if (forceRemoveDoubles) {
-      Iterator<Track> iter = tracks.iterator();
-      while (iter.hasNext()) {
-        Track track = iter.next();
-        for (Track recent : recentlyPlayed) {
-          if (track.getID().equals(recent.getID())) {
-            iter.remove();
-          }
-        }
+    List<Track> tracks = applyFilledStation(returnedStation);
+    if (forceRemoveDoubles && recentlyPlayed != null && !recentlyPlayed.isEmpty()) {
+      Set<String> recentIDs = new HashSet<>();
+      for (Track recent : recentlyPlayed) {
+        recentIDs.add(recent.getID());
       }
+      tracks.removeIf(track -> recentIDs.contains(track.getID()));
+    }
+    return tracks;
+  }
+
+  /**
+   * Get the next tracks for this station.<br>
+   * Tracks contained in the {@link #getHistory()} of this station are sent to the server to be excluded from the
+   * response. As the server sometimes ignores this, tracks that are still contained in the history will also be
+   * removed locally. All returned tracks are added to the history afterwards.
+   *
+   * @param numEntries number of tracks requested. Values outside of 0 to 78 default to 25.
+   * @return A list of at most {@code numEntries} tracks that are not part of the history.
+   */
+  public List<Track> getNextTracks(int numEntries)
+      throws IOException {
+    ListStationTracksRequest request = new ListStationTracksRequest(Collections.singletonList(this), numEntries);
+    Station returnedStation = getApi().getService().getFilledStations(request)
+        .execute().body().toList().stream().findFirst().orElse(null);
+    return removeAndRecordHistory(applyFilledStation(returnedStation));
+  }
+
+  /**
+   * Returns the bounded history of tracks recently handed out by this station.
+   * Add tracks played from other sources to exclude them from future calls to {@link #getNextTracks(int)}
+   * and {@link #fillStations(Collection, int)}.
+   */
+  public synchronized RecentlyPlayedHistory getHistory() {
+    if (history == null) {
+      history = new RecentlyPlayedHistory();
+    }
+    return history;
+  }
+
+  private List<Track> removeAndRecordHistory(List<Track> tracks) {
+    RecentlyPlayedHistory history = getHistory();
+    if (!tracks.isEmpty()) {
+      tracks.removeIf(history::contains);
+      history.addAll(tracks);
     }
     return tracks;
   }
 
+  /**
+   * Takes over tracks and session token from a station returned by the stationfeed.
+   *
+   * @param filled the station returned by the server or null if the server did not return one.
+   * @return the tracks now held by this station.
+   */
+  private List<Track> applyFilledStation(Station filled) {
+    List<Track> filledTracks = Collections.emptyList();
+    if (filled != null) {
+      sessionToken = filled.sessionToken;
+      if (filled.tracks != null) {
+        filledTracks = filled.tracks;
+      }
+    }
+    filledTracks.forEach(t -> t.setSessionToken(sessionToken));
+    this.tracks = filledTracks;
+    return filledTracks;
+  }
+
+  @Override
+  public GPlayMusic getApi() {
+    return api != null ? api : GPlayMusic.getApiInstance();
+  }
+
+  @Override
+  public void setApi(GPlayMusic api) {
+    this.api = api;
+  }
+
   public Optional<List<ArtRef>> getImageArtRefs() {
     return Optional.ofNullable(imageArtRefs);
   }
@@ -210,7 +336,24 @@ public class Station implements Result, Serializable {
 
   public void delete()
       throws IOException {
-    GPlayMusic.getApiInstance().deleteStations(this);
+    getApi().deleteStations(this);
+  }
+
+  /**
+   * Deletes this station through the {@link com.github.felixgail.gplaymusic.model.requests.mutations.MutationBatcher}
+   * of the api. Deletions issued in short succession are sent as a single batch call.
+   *
+   * @return a future completed with the response item once the batch was sent.
+   */
+  public CompletableFuture<MutationResponse.Item> deleteAsync() {
+    try {
+      return getApi().getMutationBatcher(BATCH_URL)
+          .submit(MutationFactory.getDeleteStationMutation(this));
+    } catch (IOException e) {
+      CompletableFuture<MutationResponse.Item> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
   }
 
   public String string() {
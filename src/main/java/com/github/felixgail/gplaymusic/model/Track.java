@@ -1,7 +1,6 @@
 package com.github.felixgail.gplaymusic.model;
 
 import com.github.felixgail.gplaymusic.api.GPlayMusic;
-import com.github.felixgail.gplaymusic.cache.LibraryTrackCache;
 import com.github.felixgail.gplaymusic.exceptions.NetworkException;
 import com.github.felixgail.gplaymusic.model.enums.Provider;
 import com.github.felixgail.gplaymusic.model.enums.ResultType;
@@ -10,6 +9,8 @@ import com.github.felixgail.gplaymusic.model.enums.SubscriptionType;
 import com.github.felixgail.gplaymusic.model.requests.IncrementPlaycountRequest;
 import com.github.felixgail.gplaymusic.model.responses.Result;
 import com.github.felixgail.gplaymusic.model.snippets.ArtRef;
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
 import com.github.felixgail.gplaymusic.util.language.Language;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -18,6 +19,7 @@ import com.google.gson.annotations.SerializedName;
 
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URL;
 import java.nio.file.Files;
@@ -32,7 +34,6 @@ import java.util.OptionalInt;
 public class Track extends Signable implements Result, Serializable {
   public final static ResultType RESULT_TYPE = ResultType.TRACK;
   private static Gson gsonPrettyPrinter = new GsonBuilder().setPrettyPrinting().create();
-  private static LibraryTrackCache libraryTrackCache = new LibraryTrackCache();
 
   //TODO: Not all Attributes added (eg. PrimaryVideo, ID? where is id used).
   @Expose
@@ -133,12 +134,26 @@ public class Track extends Signable implements Result, Serializable {
     this.contentType = contentType;
   }
 
+  /**
+   * @deprecated uses the last built api instance. Use {@link #getTrack(GPlayMusic, String)} instead.
+   */
+  @Deprecated
   public static Track getTrack(String trackID) throws IOException {
+    return getTrack(GPlayMusic.getApiInstance(), trackID);
+  }
+
+  /**
+   * Fetches a store track or looks up a library track in the {@link GPlayMusic#getTrackCache()} of the api.
+   */
+  public static Track getTrack(GPlayMusic api, String trackID) throws IOException {
     Track track = null;
     if (trackID.startsWith("T")) {
-      track = GPlayMusic.getApiInstance().getService().fetchTrack(trackID).execute().body();
+      track = api.getService().fetchTrack(trackID).execute().body();
+      if (track != null && track.getStoreId().isPresent()) {
+        api.getCatalogTrackCache().add(track);
+      }
     } else {
-      track = libraryTrackCache.find(trackID).orElseThrow(() ->
+      track = api.getTrackCache().find(trackID).orElseThrow(() ->
           new IllegalArgumentException(String.format("No track with id '%s' found.", trackID)));
     }
     if (track == null || track.getID() == null) {
@@ -335,7 +350,7 @@ public class Track extends Signable implements Result, Serializable {
   @Override
   public URL getStreamURL(StreamQuality quality)
       throws IOException {
-    if (GPlayMusic.getApiInstance().getConfig().getSubscription() == SubscriptionType.FREE) {
+    if (getApi().getConfig().getSubscription() == SubscriptionType.FREE) {
       throw new IOException(Language.get("users.free.NotAllowed"));
     }
     return urlFetcher(quality, Provider.STREAM, EMPTY_MAP);
@@ -354,7 +369,7 @@ public class Track extends Signable implements Result, Serializable {
    */
   public URL getStationTrackURL(StreamQuality quality)
       throws IOException {
-    if (GPlayMusic.getApiInstance().getConfig().getSubscription() == SubscriptionType.ALL_ACCESS) {
+    if (getApi().getConfig().getSubscription() == SubscriptionType.ALL_ACCESS) {
       return getStreamURL(quality);
     }
     if (getWentryID() == null || getWentryID().isEmpty()) {
@@ -372,12 +387,14 @@ public class Track extends Signable implements Result, Serializable {
 
   /**
    * Increments the playcount of this song by {@code count}.
+   * Every call sends a separate request. Use a {@link com.github.felixgail.gplaymusic.api.PlaycountReporter}
+   * to report plays of many tracks in batches.
    *
    * @param count amount of plays that will be added to the current count.
    * @return whether the incrementation was successful.
    */
   public boolean incrementPlaycount(int count) throws IOException {
-    MutationResponse response = GPlayMusic.getApiInstance().getService().incremetPlaycount(
+    MutationResponse response = getApi().getService().incremetPlaycount(
         new IncrementPlaycountRequest(count, this)).execute().body();
     if (response.checkSuccess()) {
       playCount += count;
@@ -394,26 +411,30 @@ public class Track extends Signable implements Result, Serializable {
    * Downloads the song to the provided path. Existing files will be replaced.
    */
   public void download(StreamQuality quality, Path path) throws IOException {
-    Files.copy(getStationTrackURL(quality).openStream(), path, StandardCopyOption.REPLACE_EXISTING);
+    try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.DOWNLOAD, getID());
+         InputStream stream = getStationTrackURL(quality).openStream()) {
+      span.succeeded(Files.copy(stream, path, StandardCopyOption.REPLACE_EXISTING));
+    }
   }
 
   /**
-   * Library tracks can only be fetched as whole. To shorten wait times, collected songs are cached.
-   * Please consider updating the cache (asynchronously) when using the library over a long period of time, or when
-   * new songs could be added to the library during runtime.
-   * <br>
-   * If outside access to the library is expected during runtime, disabling caching via {@link #useCache(boolean)}
-   * should also be considered.
+   * Updates the library track cache of the last built api instance.
+   *
+   * @deprecated caches are kept per api instance. Use {@link GPlayMusic#getTrackCache()} instead.
    */
+  @Deprecated
   public static void updateCache() throws IOException {
-    libraryTrackCache.update();
+    GPlayMusic.getApiInstance().getTrackCache().update();
   }
 
   /**
-   * Enables/Disables caching of library tracks.
+   * Enables/Disables caching of library tracks for the last built api instance.
+   *
+   * @deprecated caches are kept per api instance. Use {@link GPlayMusic#getTrackCache()} instead.
    */
+  @Deprecated
   public static void useCache(boolean useCache) {
-    libraryTrackCache.setUseCache(useCache);
+    GPlayMusic.getApiInstance().getTrackCache().setUseCache(useCache);
   }
 
   void setSessionToken(String token) {
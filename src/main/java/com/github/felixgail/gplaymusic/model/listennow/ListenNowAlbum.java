@@ -64,7 +64,7 @@ public class ListenNowAlbum extends ListenNowItem {
   }
 
   public Album getAlbum(boolean includeTracks) throws IOException {
-    return Album.getAlbum(getId().getMetajamCompactKey(), includeTracks);
+    return Album.getAlbum(getApi(), getId().getMetajamCompactKey(), includeTracks);
   }
 
   public String getTitle() {
@@ -1,5 +1,7 @@
 package com.github.felixgail.gplaymusic.model.listennow;
 
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.model.Model;
 import com.github.felixgail.gplaymusic.model.snippets.ArtRef;
 import com.github.felixgail.gplaymusic.util.deserializer.ListenNowItemDeserializer;
 import com.google.gson.annotations.Expose;
@@ -14,7 +16,7 @@ import java.util.Optional;
  * A ListenNowItem is a listen suggestion by the Server. It considers songs rated by you and recent activity.
  */
 @JsonAdapter(ListenNowItemDeserializer.class)
-public abstract class ListenNowItem implements Serializable {
+public abstract class ListenNowItem implements Model, Serializable {
   @Expose
   private List<ArtRef> compositeArtRefs;
   @Expose
@@ -25,6 +27,7 @@ public abstract class ListenNowItem implements Serializable {
   @Expose
   @SerializedName("suggestion_text")
   private String suggestionText;
+  private transient GPlayMusic api;
 
   public Optional<List<ArtRef>> getCompositeArtRefs() {
     return Optional.ofNullable(compositeArtRefs);
@@ -41,4 +44,14 @@ public abstract class ListenNowItem implements Serializable {
   public String getSuggestionText() {
     return suggestionText;
   }
+
+  @Override
+  public GPlayMusic getApi() {
+    return api != null ? api : GPlayMusic.getApiInstance();
+  }
+
+  @Override
+  public void setApi(GPlayMusic api) {
+    this.api = api;
+  }
 }
@@ -51,6 +51,6 @@ public class ListenNowStation extends ListenNowItem {
   }
 
   public Station getStation(boolean includeTracks) throws IOException {
-    return Station.create(getSeeds().get(0), getTitle(), includeTracks);
+    return Station.create(getApi(), getSeeds().get(0), getTitle(), includeTracks);
   }
 }
@@ -6,6 +6,8 @@ import com.google.gson.annotations.SerializedName;
 
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -13,13 +15,25 @@ import java.util.List;
 public class IncrementPlaycountRequest implements Serializable {
   @Expose
   @SerializedName("track_stats")
-  private List<Inner> trackStats;
+  private List<TrackStat> trackStats;
 
   public IncrementPlaycountRequest(int playCount, @NotNull Track track) {
-    this.trackStats = Collections.singletonList(new Inner(playCount, track));
+    this.trackStats = Collections.singletonList(
+        new TrackStat(track.getID(), playCount, System.currentTimeMillis()));
   }
 
-  private class Inner {
+  /**
+   * Creates a request reporting plays for multiple tracks at once.
+   */
+  public IncrementPlaycountRequest(@NotNull Collection<TrackStat> trackStats) {
+    this.trackStats = new ArrayList<>(trackStats);
+  }
+
+  public List<TrackStat> getTrackStats() {
+    return Collections.unmodifiableList(trackStats);
+  }
+
+  public static class TrackStat implements Serializable {
     @Expose
     private String id;
     @Expose
@@ -34,23 +48,34 @@ public class IncrementPlaycountRequest implements Serializable {
     @SerializedName("track_events")
     private List<Event> events;
 
-    Inner(int playCount, @NotNull Track track) {
-      long timeStampMillis = System.currentTimeMillis();
-
-      this.id = track.getID();
+    /**
+     * @param trackID          id of the played track
+     * @param playCount        amount of plays to add
+     * @param lastPlayedMillis time of the last play in milliseconds since epoch
+     */
+    public TrackStat(@NotNull String trackID, int playCount, long lastPlayedMillis) {
+      this.id = trackID;
       this.plays = playCount;
-      this.lastPlayedMillis = String.valueOf(timeStampMillis);
-      this.type = track.getID().startsWith("T") ? 2 : 1;
+      this.lastPlayedMillis = String.valueOf(lastPlayedMillis);
+      this.type = trackID.startsWith("T") ? 2 : 1;
 
       events = new LinkedList<>();
-      String timestampMicros = String.valueOf(timeStampMillis * 1000);
+      String timestampMicros = String.valueOf(lastPlayedMillis * 1000);
       for (int i = 0; i < playCount; i++) {
         events.add(new Event(timestampMicros));
       }
     }
+
+    public String getID() {
+      return id;
+    }
+
+    public int getPlays() {
+      return plays;
+    }
   }
 
-  private class Event {
+  private static class Event implements Serializable {
     @Expose
     @SerializedName("context_type")
     private int contextType = 1;
@@ -6,6 +6,7 @@ import com.google.gson.annotations.Expose;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -40,7 +41,35 @@ public class ListStationTracksRequest extends PagingRequest implements Serializa
   public ListStationTracksRequest(Station station, int numEntries, List<Track> recentlyPlayedTracks,
                                   String nextPageToken, int maxResults) throws IOException {
     super(nextPageToken, maxResults);
-    stations = Collections.singletonList(new StationRequest(station, numEntries, recentlyPlayedTracks));
+    stations = Collections.singletonList(new StationRequest(station, numEntries, toIDs(recentlyPlayedTracks)));
+  }
+
+  /**
+   * Create a request to return a list of Tracks for multiple Stations at once.
+   * The server will answer with one filled station per requested station.
+   * Tracks from each station's {@link Station#getHistory()} will not be in the result.
+   *
+   * @param stations   Stations the {@link Track}s will be received for.
+   * @param numEntries number of {@link Track}s that will be requested per station. Max. 78.
+   */
+  public ListStationTracksRequest(Collection<Station> stations, int numEntries)
+      throws IOException {
+    super(null, -1);
+    this.stations = new LinkedList<>();
+    for (Station station : stations) {
+      this.stations.add(new StationRequest(station, numEntries, station.getHistory().getIDs()));
+    }
+  }
+
+  private static List<String> toIDs(List<Track> tracks) {
+    if (tracks == null) {
+      return null;
+    }
+    List<String> ids = new LinkedList<>();
+    for (Track track : tracks) {
+      ids.add(track.getID());
+    }
+    return ids;
   }
 
   public int getContentFilter() {
@@ -59,17 +88,17 @@ public class ListStationTracksRequest extends PagingRequest implements Serializa
     @Expose
     private List<RecentlyPlayedTrack> recentlyPlayed;
 
-    StationRequest(Station station, int numEntries, List<Track> recentlyPlayedTracks) throws IOException {
+    StationRequest(Station station, int numEntries, Collection<String> recentlyPlayedIDs) throws IOException {
       this.radioId = station.getId();
       if (numEntries > -1 && numEntries < 79) {
         this.numEntries = numEntries;
       } else {
         this.numEntries = 25;
       }
-      if (recentlyPlayedTracks != null) {
+      if (recentlyPlayedIDs != null && !recentlyPlayedIDs.isEmpty()) {
         this.recentlyPlayed = new LinkedList<>();
-        for (Track track : recentlyPlayedTracks) {
-          this.recentlyPlayed.add(new RecentlyPlayedTrack(track));
+        for (String id : recentlyPlayedIDs) {
+          this.recentlyPlayed.add(new RecentlyPlayedTrack(id));
         }
       }
     }
@@ -81,9 +110,9 @@ public class ListStationTracksRequest extends PagingRequest implements Serializa
     @Expose
     private int type;
 
-    RecentlyPlayedTrack(Track track) {
-      this.id = track.getID();
-      this.type = track.getID().startsWith("T") ? 1 : 0;
+    RecentlyPlayedTrack(String id) {
+      this.id = id;
+      this.type = id.startsWith("T") ? 1 : 0;
     }
   }
 }
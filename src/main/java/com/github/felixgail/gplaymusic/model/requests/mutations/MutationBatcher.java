@@ -0,0 +1,162 @@
+package com.github.felixgail.gplaymusic.model.requests.mutations;
+
+import com.github.felixgail.gplaymusic.api.GPlayService;
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.model.MutationResponse;
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
+import com.github.felixgail.gplaymusic.util.language.Language;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects {@link Mutation}s for a single batch url (e.g. {@link com.github.felixgail.gplaymusic.model.PlaylistEntry#BATCH_URL})
+ * from any number of callers and sends them as combined {@link Mutator}s.
+ * <br>
+ * A batch is sent as soon as {@code maxBatchSize} mutations are queued, or {@code maxDelayMillis} after the first
+ * mutation of a batch was submitted. Batches are sent in submission order, one after another.
+ * Every caller receives a future that is completed with the {@link MutationResponse.Item} matching its mutation,
+ * or completed exceptionally if the mutation or the whole batch failed.
+ */
+public class MutationBatcher {
+  public final static int DEFAULT_MAX_BATCH_SIZE = 250;
+  public final static long DEFAULT_MAX_DELAY_MILLIS = 50;
+
+  private final GPlayService service;
+  private final String batchUrl;
+  private final ScheduledExecutorService executor;
+  private final int maxBatchSize;
+  private final long maxDelayMillis;
+
+  private final Object lock = new Object();
+  private List<PendingMutation> queue = new ArrayList<>();
+  private ScheduledFuture<?> scheduledFlush;
+  private CompletableFuture<Void> sendChain = CompletableFuture.completedFuture(null);
+
+  public MutationBatcher(GPlayService service, String batchUrl, ScheduledExecutorService executor) {
+    this(service, batchUrl, executor, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MILLIS);
+  }
+
+  /**
+   * @param service        service used to send the batches
+   * @param batchUrl       batch url relative to the api version (e.g. "plentriesbatch")
+   * @param executor       executor used to delay and send batches
+   * @param maxBatchSize   maximum amount of mutations sent in one batch
+   * @param maxDelayMillis maximum time a mutation waits for other mutations before being sent
+   */
+  public MutationBatcher(GPlayService service, String batchUrl, ScheduledExecutorService executor,
+                         int maxBatchSize, long maxDelayMillis) {
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("maxBatchSize has to be greater than 0.");
+    }
+    this.service = service;
+    this.batchUrl = batchUrl;
+    this.executor = executor;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayMillis = maxDelayMillis;
+  }
+
+  /**
+   * Queues a mutation to be sent with the next batch.
+   *
+   * @return a future completed with the response item for this mutation.
+   */
+  public CompletableFuture<MutationResponse.Item> submit(Mutation mutation) {
+    PendingMutation pending = new PendingMutation(mutation);
+    synchronized (lock) {
+      queue.add(pending);
+      if (queue.size() >= maxBatchSize) {
+        dispatch();
+      } else if (scheduledFlush == null) {
+        scheduledFlush = executor.schedule(this::flush, maxDelayMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+    return pending.future;
+  }
+
+  /**
+   * Sends all queued mutations without waiting for the delay to pass.
+   *
+   * @return a future completed once every batch dispatched so far has been answered.
+   */
+  public CompletableFuture<Void> flush() {
+    synchronized (lock) {
+      if (!queue.isEmpty()) {
+        dispatch();
+      }
+      return sendChain;
+    }
+  }
+
+  public String getBatchUrl() {
+    return batchUrl;
+  }
+
+  public int getQueuedCount() {
+    synchronized (lock) {
+      return queue.size();
+    }
+  }
+
+  /**
+   * Has to be called while holding {@link #lock}.
+   */
+  private void dispatch() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    List<PendingMutation> batch = queue;
+    queue = new ArrayList<>();
+    sendChain = sendChain.thenRunAsync(() -> send(batch), executor);
+  }
+
+  private void send(List<PendingMutation> batch) {
+    List<Mutation> mutations = new ArrayList<>(batch.size());
+    for (PendingMutation pending : batch) {
+      mutations.add(pending.mutation);
+    }
+    try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.MUTATION_BATCH, batchUrl)) {
+      Response<MutationResponse> response = service.batchCall("sj/v2.5/" + batchUrl, new Mutator(mutations))
+          .execute();
+      MutationResponse body = response.body();
+      if (body == null) {
+        throw new NetworkException(response.code(), response.message());
+      }
+      span.succeeded(mutations.size());
+      List<MutationResponse.Item> items = body.getItems();
+      for (int i = 0; i < batch.size(); i++) {
+        PendingMutation pending = batch.get(i);
+        if (i >= items.size()) {
+          pending.future.completeExceptionally(
+              new NetworkException(400, Language.get("mutation.MissingResponseItem")));
+        } else if (!items.get(i).isSuccess()) {
+          pending.future.completeExceptionally(new NetworkException(400,
+              String.format(Language.get("mutation.ItemFailed"), items.get(i).getResponse_code())));
+        } else {
+          pending.future.complete(items.get(i));
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      for (PendingMutation pending : batch) {
+        pending.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  private static class PendingMutation {
+    private final Mutation mutation;
+    private final CompletableFuture<MutationResponse.Item> future = new CompletableFuture<>();
+
+    PendingMutation(Mutation mutation) {
+      this.mutation = mutation;
+    }
+  }
+}
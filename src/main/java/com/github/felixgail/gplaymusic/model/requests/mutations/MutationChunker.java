@@ -0,0 +1,264 @@
+package com.github.felixgail.gplaymusic.model.requests.mutations;
+
+import com.github.felixgail.gplaymusic.api.GPlayService;
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.model.MutationResponse;
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
+import com.github.felixgail.gplaymusic.util.language.Language;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Splits a {@link Mutator} into chunks of a server friendly size and submits them.
+ * <br>
+ * Chunks that do not depend on each other are sent concurrently. A chunk depends on another one if
+ * <ul>
+ * <li>it references ({@code precedingEntryId}/{@code followingEntryId}) an entry created in the other chunk or</li>
+ * <li>both chunks contain positional mutations, as their order on the server must be preserved.
+ * If the mutator contains positional mutations, deletes count as positional as well, since references of later
+ * mutations assume they have been applied.</li>
+ * </ul>
+ * References to entries that are only created in a later chunk are removed from the referencing mutation.
+ * The later chunk still references the entry preceding its first new entry, so chains of new entries stay intact.
+ * <br>
+ * Failures are reported per item: if a chunk fails, each of its mutations (and the mutations of every chunk
+ * depending on it) is represented by an item carrying the exception. See {@link MutationResponse#getFailedItems()}.
+ */
+public class MutationChunker {
+  public final static int DEFAULT_CHUNK_SIZE = 250;
+  private final static String PRECEDING_KEY = "precedingEntryId";
+  private final static String FOLLOWING_KEY = "followingEntryId";
+  private final static String DELETE_KEY = "delete";
+
+  private final GPlayService service;
+  private final String batchUrl;
+  private final Executor executor;
+  private final int chunkSize;
+
+  public MutationChunker(GPlayService service, String batchUrl, Executor executor) {
+    this(service, batchUrl, executor, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param service   service used to send the chunks
+   * @param batchUrl  batch url relative to the api version (e.g. "plentriesbatch")
+   * @param executor  executor used to send independent chunks concurrently
+   * @param chunkSize maximum amount of mutations per batch call
+   */
+  public MutationChunker(GPlayService service, String batchUrl, Executor executor, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize has to be greater than 0.");
+    }
+    this.service = service;
+    this.batchUrl = batchUrl;
+    this.executor = executor;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Sends all mutations of the mutator and waits for every chunk to be answered.
+   *
+   * @return the merged response, containing one item per mutation in the order of the mutator.
+   */
+  public MutationResponse execute(Mutator mutator) {
+    List<Chunk> chunks = split(mutator.getMutations());
+    if (chunks.isEmpty()) {
+      return new MutationResponse();
+    }
+    if (chunks.size() == 1) {
+      return merge(chunks, new ChunkOutcome[]{send(chunks.get(0))});
+    }
+    return submit(chunks).join();
+  }
+
+  /**
+   * Same as {@link #execute(Mutator)}, but does not block the calling thread.
+   */
+  public CompletableFuture<MutationResponse> executeAsync(Mutator mutator) {
+    return submit(split(mutator.getMutations()));
+  }
+
+  private CompletableFuture<MutationResponse> submit(List<Chunk> chunks) {
+    List<CompletableFuture<ChunkOutcome>> futures = new ArrayList<>(chunks.size());
+    for (Chunk chunk : chunks) {
+      List<CompletableFuture<ChunkOutcome>> dependencies = new ArrayList<>();
+      for (int index : chunk.dependencies) {
+        dependencies.add(futures.get(index));
+      }
+      CompletableFuture<ChunkOutcome> future = CompletableFuture
+          .allOf(dependencies.toArray(new CompletableFuture[dependencies.size()]))
+          .thenApplyAsync(ignored -> {
+            for (CompletableFuture<ChunkOutcome> dependency : dependencies) {
+              ChunkOutcome outcome = dependency.join();
+              if (outcome.exception != null) {
+                return new ChunkOutcome(null, outcome.exception);
+              }
+            }
+            return send(chunk);
+          }, executor);
+      futures.add(future);
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+        .thenApply(ignored -> {
+          ChunkOutcome[] outcomes = new ChunkOutcome[futures.size()];
+          for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = futures.get(i).join();
+          }
+          return merge(chunks, outcomes);
+        });
+  }
+
+  private ChunkOutcome send(Chunk chunk) {
+    try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.MUTATION_BATCH, batchUrl)) {
+      Response<MutationResponse> response = service.batchCall("sj/v2.5/" + batchUrl,
+          new Mutator(chunk.mutations)).execute();
+      if (response.body() == null) {
+        throw new NetworkException(response.code(), response.message());
+      }
+      span.succeeded(chunk.mutations.size());
+      if (response.body().getItems().stream().anyMatch(item -> !item.isSuccess())) {
+        // Entries of later chunks may be chained to entries of this chunk.
+        return new ChunkOutcome(response.body(),
+            new NetworkException(400, Language.get("network.GenericError")));
+      }
+      return new ChunkOutcome(response.body(), null);
+    } catch (IOException e) {
+      return new ChunkOutcome(null, e);
+    } catch (RuntimeException e) {
+      return new ChunkOutcome(null, new IOException(e));
+    }
+  }
+
+  private MutationResponse merge(List<Chunk> chunks, ChunkOutcome[] outcomes) {
+    MutationResponse merged = new MutationResponse();
+    for (int i = 0; i < chunks.size(); i++) {
+      int size = chunks.get(i).mutations.size();
+      ChunkOutcome outcome = outcomes[i];
+      List<MutationResponse.Item> items = outcome.response != null
+          ? outcome.response.getItems() : new ArrayList<>();
+      for (int j = 0; j < size; j++) {
+        if (j < items.size()) {
+          merged.addItem(items.get(j));
+        } else if (outcome.exception != null) {
+          merged.addFailedItem(outcome.exception);
+        } else {
+          merged.addFailedItem(new NetworkException(400, Language.get("mutation.MissingResponseItem")));
+        }
+      }
+    }
+    return merged;
+  }
+
+  private List<Chunk> split(List<Mutation> mutations) {
+    List<Chunk> chunks = new ArrayList<>();
+    Map<String, Integer> createdIn = new HashMap<>();
+    for (int start = 0; start < mutations.size(); start += chunkSize) {
+      Chunk chunk = new Chunk(new ArrayList<>(
+          mutations.subList(start, Math.min(start + chunkSize, mutations.size()))));
+      for (Mutation mutation : chunk.mutations) {
+        String created = getCreatedID(mutation);
+        if (created != null) {
+          createdIn.put(created, chunks.size());
+        }
+      }
+      chunks.add(chunk);
+    }
+
+    boolean[] positional = new boolean[chunks.size()];
+    boolean[] deletes = new boolean[chunks.size()];
+    boolean anyPositional = false;
+    for (int index = 0; index < chunks.size(); index++) {
+      Chunk chunk = chunks.get(index);
+      for (int i = 0; i < chunk.mutations.size(); i++) {
+        Mutation mutation = chunk.mutations.get(i);
+        if (DELETE_KEY.equals(mutation.getSerializedAttributeName())) {
+          deletes[index] = true;
+        }
+        if (!(mutation.getMutation() instanceof Map)) {
+          continue;
+        }
+        Map<?, ?> data = (Map<?, ?>) mutation.getMutation();
+        Set<String> forwardReferences = new HashSet<>();
+        for (String key : new String[]{PRECEDING_KEY, FOLLOWING_KEY}) {
+          Object reference = data.get(key);
+          if (reference == null) {
+            continue;
+          }
+          Integer creatingChunk = createdIn.get(reference.toString());
+          if (creatingChunk == null) {
+            positional[index] = true;
+          } else if (creatingChunk < index) {
+            positional[index] = true;
+            chunk.dependencies.add(creatingChunk);
+          } else if (creatingChunk > index) {
+            forwardReferences.add(key);
+          } else {
+            positional[index] = true;
+          }
+        }
+        if (!forwardReferences.isEmpty()) {
+          chunk.mutations.set(i, withoutKeys(mutation, forwardReferences));
+        }
+      }
+      anyPositional |= positional[index];
+    }
+
+    int lastPositional = -1;
+    for (int index = 0; index < chunks.size(); index++) {
+      if (positional[index] || (anyPositional && deletes[index])) {
+        if (lastPositional >= 0) {
+          chunks.get(index).dependencies.add(lastPositional);
+        }
+        lastPositional = index;
+      }
+    }
+    return chunks;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Mutation withoutKeys(Mutation mutation, Set<String> keys) {
+    Map<String, Object> copy = new HashMap<>((Map<String, Object>) mutation.getMutation());
+    copy.keySet().removeAll(keys);
+    return new MutationFactory.MapMutation(mutation.getSerializedAttributeName(), copy);
+  }
+
+  private static String getCreatedID(Mutation mutation) {
+    if ("create".equals(mutation.getSerializedAttributeName()) && mutation.getMutation() instanceof Map) {
+      Object clientId = ((Map<?, ?>) mutation.getMutation()).get("clientId");
+      if (clientId != null) {
+        return clientId.toString();
+      }
+    }
+    return null;
+  }
+
+  private static class Chunk {
+    private final List<Mutation> mutations;
+    private final Set<Integer> dependencies = new TreeSet<>();
+
+    Chunk(List<Mutation> mutations) {
+      this.mutations = mutations;
+    }
+  }
+
+  private static class ChunkOutcome {
+    private final MutationResponse response;
+    private final IOException exception;
+
+    ChunkOutcome(MutationResponse response, IOException exception) {
+      this.response = response;
+      this.exception = exception;
+    }
+  }
+}
@@ -58,8 +58,28 @@ public class MutationFactory {
     if (currentID == null) {
       throw new NullPointerException("currentID is not allowed to be null.");
     }
+    return getInsertPlaylistEntryMutation(playlist, track,
+        preceedingID == null ? null : preceedingID.toString(), currentID.toString(),
+        followingID == null ? null : followingID.toString());
+  }
+
+  /**
+   * Same as {@link #getAddPlaylistEntryMutation(Playlist, Track, UUID, UUID, UUID)}, but accepts arbitrary
+   * clientIDs, e.g. those of entries already present in the playlist.
+   *
+   * @param precedingClientID clientID of the preceding {@link PlaylistEntry} or null if this will be the first entry.
+   * @param currentClientID   clientID of the entry to create.
+   * @param followingClientID clientID of the following {@link PlaylistEntry} or null if this will be the last entry.
+   */
+  public static Mutation<Map<String, Object>> getInsertPlaylistEntryMutation(Playlist playlist, Track track,
+                                                                             String precedingClientID,
+                                                                             String currentClientID,
+                                                                             String followingClientID) {
+    if (currentClientID == null) {
+      throw new NullPointerException("currentClientID is not allowed to be null.");
+    }
     Map<String, Object> create = new HashMap<>();
-    create.put("clientId", currentID);
+    create.put("clientId", currentClientID);
     create.put("creationTimestamp", "-1");
     create.put("deleted", false);
     create.put("lastModifiedTimestamp", "0");
@@ -71,12 +91,12 @@ public class MutationFactory {
       create.put("source", 2);
     }
 
-    if (preceedingID != null) {
-      create.put("precedingEntryId", preceedingID);
+    if (precedingClientID != null) {
+      create.put("precedingEntryId", precedingClientID);
     }
 
-    if (followingID != null) {
-      create.put("followingEntryId", followingID.toString());
+    if (followingClientID != null) {
+      create.put("followingEntryId", followingClientID);
     }
     return new MapMutation("create", create);
   }
@@ -209,7 +229,7 @@ public class MutationFactory {
   }
 
   @JsonAdapter(MutationSerializer.class)
-  private static class MapMutation implements Mutation<Map<String, Object>>, Serializable {
+  static class MapMutation implements Mutation<Map<String, Object>>, Serializable {
 
     @Expose
     private Map<String, Object> data;
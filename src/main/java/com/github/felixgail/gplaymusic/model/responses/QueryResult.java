@@ -0,0 +1,36 @@
+package com.github.felixgail.gplaymusic.model.responses;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Outcome of one query of {@link com.github.felixgail.gplaymusic.api.GPlayMusic#searchAll}.
+ * Holds either the response or the exception of the failed search.
+ */
+public class QueryResult {
+  private final String query;
+  private final SearchResponse response;
+  private final IOException exception;
+
+  public QueryResult(String query, SearchResponse response, IOException exception) {
+    this.query = query;
+    this.response = response;
+    this.exception = exception;
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public Optional<SearchResponse> getResponse() {
+    return Optional.ofNullable(response);
+  }
+
+  public Optional<IOException> getException() {
+    return Optional.ofNullable(exception);
+  }
+
+  public boolean isSuccess() {
+    return response != null;
+  }
+}
@@ -7,58 +7,123 @@ import com.github.felixgail.gplaymusic.model.PodcastSeries;
 import com.github.felixgail.gplaymusic.model.Station;
 import com.github.felixgail.gplaymusic.model.Track;
 import com.github.felixgail.gplaymusic.model.Video;
+import com.github.felixgail.gplaymusic.model.enums.ResultType;
 import com.github.felixgail.gplaymusic.model.listennow.Situation;
-import com.google.gson.annotations.Expose;
 
 import java.io.Serializable;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-//TODO: Add result scores
+/**
+ * Result of a search. Entries are grouped by {@link ResultType} once on creation, so the typed getters return
+ * prepared, unmodifiable lists. All lists keep the ranking order of the server.
+ * <br>
+ * Deserialized by {@link com.github.felixgail.gplaymusic.util.deserializer.SearchResponseDeserializer}.
+ */
 public class SearchResponse implements Serializable {
-
-  @Expose
-  private List<Result> entries = new LinkedList<>();
+  private final List<Result> entries;
+  private final Map<ResultType, List<Result>> buckets = new EnumMap<>(ResultType.class);
+  private final Map<Result, Double> scores;
 
   public SearchResponse() {
-    entries = new LinkedList<>();
+    this(Collections.emptyList());
+  }
+
+  public SearchResponse(List<Result> entries) {
+    this(entries, Collections.emptyMap());
   }
 
+  /**
+   * @param entries entries in ranking order
+   * @param scores  server scores of entries. Entries without score are missing.
+   */
+  public SearchResponse(List<Result> entries, Map<Result, Double> scores) {
+    this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    this.scores = new IdentityHashMap<>(scores);
+    Map<ResultType, List<Result>> grouped = new EnumMap<>(ResultType.class);
+    for (Result entry : this.entries) {
+      grouped.computeIfAbsent(entry.getResultType(), type -> new ArrayList<>()).add(entry);
+    }
+    grouped.forEach((type, list) -> buckets.put(type, Collections.unmodifiableList(list)));
+  }
+
+  /**
+   * @return all entries in ranking order. Unmodifiable.
+   */
   public List<Result> getEntries() {
     return entries;
   }
 
+  /**
+   * @return the entries of one type in ranking order. Unmodifiable.
+   */
+  public List<Result> getEntries(ResultType type) {
+    return buckets.getOrDefault(type, Collections.emptyList());
+  }
+
+  /**
+   * @return the relevance score the server assigned to {@code entry}, if it sent one.
+   */
+  public OptionalDouble getScore(Result entry) {
+    Double score = scores.get(entry);
+    return score == null ? OptionalDouble.empty() : OptionalDouble.of(score);
+  }
+
+  /**
+   * @return a response containing the entries matching {@code predicate}, keeping order and scores.
+   */
+  public SearchResponse filter(Predicate<? super Result> predicate) {
+    List<Result> filtered = entries.stream().filter(predicate).collect(Collectors.toList());
+    Map<Result, Double> filteredScores = new IdentityHashMap<>();
+    filtered.stream().filter(scores::containsKey).forEach(entry -> filteredScores.put(entry, scores.get(entry)));
+    return new SearchResponse(filtered, filteredScores);
+  }
+
   public List<Track> getTracks() {
-    return entries.stream().filter(Track.class::isInstance).map(Track.class::cast).collect(Collectors.toList());
+    return typed(ResultType.TRACK);
   }
 
   public List<Artist> getArtists() {
-    return entries.stream().filter(Artist.class::isInstance).map(Artist.class::cast).collect(Collectors.toList());
+    return typed(ResultType.ARTIST);
   }
 
   public List<Album> getAlbums() {
-    return entries.stream().filter(Album.class::isInstance).map(Album.class::cast).collect(Collectors.toList());
+    return typed(ResultType.ALBUM);
   }
 
   public List<Playlist> getPlaylists() {
-    return entries.stream().filter(Playlist.class::isInstance).map(Playlist.class::cast).collect(Collectors.toList());
+    return typed(ResultType.PLAYLIST);
   }
 
   public List<Station> getStations() {
-    return entries.stream().filter(Station.class::isInstance).map(Station.class::cast).collect(Collectors.toList());
+    return typed(ResultType.STATION);
   }
 
   public List<Situation> getSituations() {
-    return entries.stream().filter(Situation.class::isInstance).map(Situation.class::cast).collect(Collectors.toList());
+    return typed(ResultType.SITUATION);
   }
 
   public List<Video> getVideos() {
-    return entries.stream().filter(Video.class::isInstance).map(Video.class::cast).collect(Collectors.toList());
+    return typed(ResultType.VIDEO);
   }
 
   public List<PodcastSeries> getPodcastSeries() {
-    return entries.stream().filter(PodcastSeries.class::isInstance).map(PodcastSeries.class::cast).collect(Collectors.toList());
+    return typed(ResultType.PODCAST_SERIES);
+  }
+
+  /**
+   * Buckets only contain instances of {@link ResultType#getType()}, see the constructor.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> List<T> typed(ResultType type) {
+    return (List<T>) getEntries(type);
   }
 
   public String string() {
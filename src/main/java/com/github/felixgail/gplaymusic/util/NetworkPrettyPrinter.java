@@ -13,6 +13,13 @@ import java.util.Map;
 public class NetworkPrettyPrinter {
 
   public static String getRequestPrint(Request request) {
+    return getRequestPrint(request, Long.MAX_VALUE);
+  }
+
+  /**
+   * @param maxBodyBytes maximum amount of body bytes printed. Longer bodies are truncated.
+   */
+  public static String getRequestPrint(Request request, long maxBodyBytes) {
     if (request != null) {
       Buffer buffer = new Buffer();
       buffer.writeUtf8("Request Information\n")
@@ -34,7 +41,11 @@ public class NetworkPrettyPrinter {
       if (request.body() != null) {
         try {
           buffer.writeUtf8("\nRequest body:\n");
-          request.body().writeTo(buffer);
+          TruncatingSink body = TruncatingSink.capture(request.body(), maxBodyBytes);
+          buffer.writeUtf8(body.getBuffer().readUtf8());
+          if (body.isTruncated()) {
+            writeTruncated(buffer, maxBodyBytes);
+          }
         } catch (IOException | NullPointerException e) {
           buffer.writeUtf8("\n\n").writeUtf8(Language.get("exception.Generic"))
               .writeUtf8(e.getMessage());
@@ -46,6 +57,15 @@ public class NetworkPrettyPrinter {
   }
 
   public static String getResponsePrint(Response response) {
+    return getResponsePrint(response, Long.MAX_VALUE);
+  }
+
+  /**
+   * Prints a response without consuming its body.
+   *
+   * @param maxBodyBytes maximum amount of body bytes buffered and printed. Longer bodies are truncated.
+   */
+  public static String getResponsePrint(Response response, long maxBodyBytes) {
     if (response != null) {
       Buffer buffer = new Buffer();
       buffer.writeUtf8("Response Information:\n");
@@ -58,9 +78,9 @@ public class NetworkPrettyPrinter {
       buffer.writeUtf8("\n\nBody:\n");
       try {
         BufferedSource source = response.body().source();
-        source.request(Long.MAX_VALUE); // Buffer the entire body.
-        String body = source.buffer().clone().readUtf8();
-        buffer.writeUtf8(body);
+        source.request(maxBodyBytes); // Buffer at most maxBodyBytes of the body.
+        Buffer body = source.buffer().clone();
+        writeCapped(buffer, body, maxBodyBytes);
       } catch (IOException | NullPointerException e) {
         buffer.writeUtf8("\n\n").writeUtf8(Language.get("exception.Generic"))
             .writeUtf8(e.getMessage());
@@ -69,4 +89,20 @@ public class NetworkPrettyPrinter {
     }
     return "";
   }
+
+  /**
+   * Writes at most {@code maxBytes} of {@code body} and a note if the body was truncated.
+   */
+  private static void writeCapped(Buffer target, Buffer body, long maxBytes) throws IOException {
+    if (body.size() <= maxBytes) {
+      target.writeUtf8(body.readUtf8());
+      return;
+    }
+    target.writeUtf8(body.readUtf8(maxBytes));
+    writeTruncated(target, maxBytes);
+  }
+
+  private static void writeTruncated(Buffer target, long maxBytes) {
+    target.writeUtf8(String.format(Language.get("network.print.Truncated"), maxBytes));
+  }
 }
@@ -0,0 +1,65 @@
+package com.github.felixgail.gplaymusic.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting how often an action may be performed.
+ * Tokens are refilled continuously at {@code permitsPerSecond}, at most {@code burst} tokens are stored.
+ */
+public class RateLimiter {
+  private final double permitsPerNano;
+  private final double burst;
+  private double tokens;
+  private long lastRefill;
+
+  /**
+   * @param permitsPerSecond sustained rate. Has to be greater than 0.
+   * @param burst            amount of permits that may be taken at once after a pause. At least 1.
+   */
+  public RateLimiter(double permitsPerSecond, int burst) {
+    if (permitsPerSecond <= 0 || burst < 1) {
+      throw new IllegalArgumentException("Rate has to be greater than 0 and burst at least 1.");
+    }
+    this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.burst = burst;
+    this.tokens = burst;
+    this.lastRefill = System.nanoTime();
+  }
+
+  /**
+   * Blocks until a permit is available and takes it.
+   *
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public void acquire() throws InterruptedException {
+    long wait;
+    synchronized (this) {
+      refill();
+      tokens -= 1;
+      wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+    if (wait > 0) {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+  }
+
+  /**
+   * Takes a permit if one is available right now.
+   *
+   * @return whether a permit was taken.
+   */
+  public synchronized boolean tryAcquire() {
+    refill();
+    if (tokens >= 1) {
+      tokens -= 1;
+      return true;
+    }
+    return false;
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+    lastRefill = now;
+  }
+}
@@ -0,0 +1,103 @@
+package com.github.felixgail.gplaymusic.util;
+
+import com.github.felixgail.gplaymusic.model.Track;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded history of recently played track IDs.
+ * IDs are kept in a ring buffer, so the oldest ID is dropped once the capacity is reached.
+ * An additional hash map allows membership checks in constant time.
+ */
+public class RecentlyPlayedHistory implements Serializable {
+  public final static int DEFAULT_CAPACITY = 100;
+
+  private final String[] ring;
+  private final Map<String, Integer> occurrences;
+  private int head = 0;
+  private int size = 0;
+
+  public RecentlyPlayedHistory() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity maximum amount of IDs kept by this history. Has to be greater than 0.
+   */
+  public RecentlyPlayedHistory(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity has to be greater than 0.");
+    }
+    this.ring = new String[capacity];
+    this.occurrences = new HashMap<>(capacity * 2);
+  }
+
+  public synchronized void add(String trackID) {
+    if (size == ring.length) {
+      String evicted = ring[head];
+      Integer count = occurrences.get(evicted);
+      if (count != null && count > 1) {
+        occurrences.put(evicted, count - 1);
+      } else {
+        occurrences.remove(evicted);
+      }
+    } else {
+      size++;
+    }
+    ring[head] = trackID;
+    head = (head + 1) % ring.length;
+    occurrences.merge(trackID, 1, Integer::sum);
+  }
+
+  public void add(Track track) {
+    add(track.getID());
+  }
+
+  public void addAll(Collection<Track> tracks) {
+    for (Track track : tracks) {
+      add(track.getID());
+    }
+  }
+
+  public synchronized boolean contains(String trackID) {
+    return occurrences.containsKey(trackID);
+  }
+
+  public boolean contains(Track track) {
+    return contains(track.getID());
+  }
+
+  /**
+   * Returns the IDs in this history, oldest first.
+   */
+  public synchronized List<String> getIDs() {
+    List<String> ids = new ArrayList<>(size);
+    int start = (head - size + ring.length) % ring.length;
+    for (int i = 0; i < size; i++) {
+      ids.add(ring[(start + i) % ring.length]);
+    }
+    return ids;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  public int getCapacity() {
+    return ring.length;
+  }
+
+  public synchronized void clear() {
+    for (int i = 0; i < ring.length; i++) {
+      ring[i] = null;
+    }
+    occurrences.clear();
+    head = 0;
+    size = 0;
+  }
+}
@@ -0,0 +1,130 @@
+package com.github.felixgail.gplaymusic.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes a minimal list of moves that transforms one ordering of items into another.
+ * <br>
+ * Items forming a longest increasing subsequence (with respect to the target order) keep their place,
+ * every other item is moved exactly once. Moves are meant to be applied in the returned order, each placing
+ * its item between {@link Move#getPreceding()} and {@link Move#getFollowing()} of the list at that point.
+ */
+public class ReorderPlanner {
+
+  private ReorderPlanner() {
+  }
+
+  /**
+   * @param current the current order of the items
+   * @param target  the desired order. Has to contain exactly the items of {@code current}.
+   * @return the moves to apply, possibly empty if both orders are equal.
+   */
+  public static <T> List<Move<T>> plan(List<T> current, List<T> target) {
+    if (current.size() != target.size()) {
+      throw new IllegalArgumentException("Target order has to contain exactly the current items.");
+    }
+    Map<T, Integer> targetIndex = new HashMap<>(target.size() * 2);
+    for (int i = 0; i < target.size(); i++) {
+      if (targetIndex.put(target.get(i), i) != null) {
+        throw new IllegalArgumentException("Target order contains an item twice: " + target.get(i));
+      }
+    }
+    int[] sequence = new int[current.size()];
+    for (int i = 0; i < current.size(); i++) {
+      Integer index = targetIndex.get(current.get(i));
+      if (index == null) {
+        throw new IllegalArgumentException("Target order is missing item: " + current.get(i));
+      }
+      sequence[i] = index;
+    }
+
+    Set<T> kept = new HashSet<>();
+    for (int index : longestIncreasingSubsequence(sequence)) {
+      kept.add(target.get(index));
+    }
+
+    List<T> working = new ArrayList<>(current);
+    List<Move<T>> moves = new ArrayList<>(current.size() - kept.size());
+    for (int i = 0; i < target.size(); i++) {
+      T item = target.get(i);
+      if (kept.contains(item)) {
+        continue;
+      }
+      working.remove(item);
+      T preceding = i > 0 ? target.get(i - 1) : null;
+      int insertAt = preceding == null ? 0 : working.indexOf(preceding) + 1;
+      working.add(insertAt, item);
+      T following = insertAt + 1 < working.size() ? working.get(insertAt + 1) : null;
+      moves.add(new Move<>(item, preceding, following));
+    }
+    return moves;
+  }
+
+  /**
+   * @return the values of a longest strictly increasing subsequence, in ascending order.
+   */
+  private static List<Integer> longestIncreasingSubsequence(int[] sequence) {
+    int[] tails = new int[sequence.length];
+    int[] predecessors = new int[sequence.length];
+    int length = 0;
+    for (int i = 0; i < sequence.length; i++) {
+      int low = 0;
+      int high = length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (sequence[tails[mid]] < sequence[i]) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      predecessors[i] = low > 0 ? tails[low - 1] : -1;
+      tails[low] = i;
+      if (low == length) {
+        length++;
+      }
+    }
+    List<Integer> values = new ArrayList<>(length);
+    for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessors[i]) {
+      values.add(sequence[i]);
+    }
+    Collections.reverse(values);
+    return values;
+  }
+
+  public static class Move<T> {
+    private final T item;
+    private final T preceding;
+    private final T following;
+
+    Move(T item, T preceding, T following) {
+      this.item = item;
+      this.preceding = preceding;
+      this.following = following;
+    }
+
+    public T getItem() {
+      return item;
+    }
+
+    /**
+     * @return the item placed directly before the moved item or null if it becomes the first item.
+     */
+    public T getPreceding() {
+      return preceding;
+    }
+
+    /**
+     * @return the item placed directly after the moved item or null if it becomes the last item.
+     */
+    public T getFollowing() {
+      return following;
+    }
+  }
+}
@@ -25,8 +25,17 @@ public class TokenProvider {
   public static AuthToken provideToken(final String user, final String password,
                                        final String androidID)
       throws IOException, Gpsoauth.TokenRequestFailed {
+    return provideToken(new OkHttpClient(), user, password, androidID);
+  }
+
+  /**
+   * Same as {@link #provideToken(String, String, String)}, but uses an existing client for the login request.
+   * Useful when logging in many accounts, as connections and threads of the client are reused.
+   */
+  public static AuthToken provideToken(final OkHttpClient client, final String user, final String password,
+                                       final String androidID)
+      throws IOException, Gpsoauth.TokenRequestFailed {
     lastTokenFetched = System.currentTimeMillis();
-    OkHttpClient client = new OkHttpClient();
     Gpsoauth auth = new Gpsoauth(client);
     // clientSig taken from https://github.com/simon-weber/gmusicapi/blob/develop/gmusicapi/session.py#L199
     return auth.login(user, password, androidID, "sj", "com.google.android.music",
@@ -0,0 +1,218 @@
+package com.github.felixgail.gplaymusic.util;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.enums.ResultType;
+import com.github.felixgail.gplaymusic.model.requests.SearchTypes;
+import com.github.felixgail.gplaymusic.model.responses.QueryResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Resolves text lines like "Artist - Title" to tracks, e.g. to import playlists from text files.
+ * <br>
+ * All lines are first matched against a trigram index over the library ({@link GPlayMusic#getTrackCache()}) and
+ * the store tracks the api has seen recently ({@link GPlayMusic#getCatalogTrackCache()}).
+ * Lines without a match scoring at least {@link #setMinScore(double)} are searched on the server.
+ * These searches run through {@link GPlayMusic#searchAll(java.util.Collection, SearchTypes, int, int, RateLimiter)},
+ * on a pool of their own, and are limited by a {@link RateLimiter}.
+ */
+public class TrackResolver {
+  public final static double DEFAULT_MIN_SCORE = 0.6;
+  public final static double DEFAULT_SEARCHES_PER_SECOND = 5;
+  private final static Pattern SEPARATOR = Pattern.compile("\\s+[-\u2013\u2014]\\s+");
+  private final static double ARTIST_WEIGHT = 0.35;
+  private final static int CANDIDATES = 10;
+  private final static int SEARCH_RESULTS = 5;
+
+  private final GPlayMusic api;
+  private double minScore = DEFAULT_MIN_SCORE;
+  private RateLimiter rateLimiter = new RateLimiter(DEFAULT_SEARCHES_PER_SECOND, 1);
+  private int parallelism = GPlayMusic.DEFAULT_SEARCH_PARALLELISM;
+
+  public TrackResolver(GPlayMusic api) {
+    this.api = api;
+  }
+
+  /**
+   * Score a local match needs to be accepted without a server search. Between 0 and 1.
+   */
+  public TrackResolver setMinScore(double minScore) {
+    this.minScore = minScore;
+    return this;
+  }
+
+  /**
+   * Limiter every server search has to pass. Share one limiter between resolvers to limit them together.
+   */
+  public TrackResolver setRateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+    return this;
+  }
+
+  /**
+   * Maximum amount of concurrent server searches.
+   */
+  public TrackResolver setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Scores how well a track matches a line. Lines containing " - " are split into artist and title
+   * and compared with the corresponding fields, otherwise the line is compared with artist and title combined.
+   *
+   * @return similarity between 0 and 1.
+   */
+  public static double score(String line, Track track) {
+    String[] parts = SEPARATOR.split(line.trim(), 2);
+    if (parts.length < 2) {
+      return Math.max(TrigramIndex.similarity(line, track.getTitle()),
+          TrigramIndex.similarity(line, track.getArtist() + " " + track.getTitle()));
+    }
+    double artist = Math.max(TrigramIndex.similarity(parts[0], track.getArtist()),
+        TrigramIndex.similarity(parts[0], track.getAlbumArtist()));
+    return ARTIST_WEIGHT * artist + (1 - ARTIST_WEIGHT) * TrigramIndex.similarity(parts[1], track.getTitle());
+  }
+
+  /**
+   * @param lines lines to resolve
+   * @return one match per line, in the order of {@code lines}.
+   * @throws IOException if the library could not be loaded. Failed server searches are reported per match.
+   */
+  public List<Match> resolve(List<String> lines) throws IOException {
+    TrigramIndex<Candidate> index = new TrigramIndex<>();
+    for (Track track : api.getTrackCache().getAll()) {
+      index.add(track.getArtist() + " " + track.getTitle(), new Candidate(track, Source.LIBRARY));
+    }
+    for (Track track : api.getCatalogTrackCache().getAll()) {
+      index.add(track.getArtist() + " " + track.getTitle(), new Candidate(track, Source.CATALOG));
+    }
+
+    List<Match> matches = new ArrayList<>(lines.size());
+    Set<String> queries = new LinkedHashSet<>();
+    for (String line : lines) {
+      Match local = index.candidates(query(line), CANDIDATES).stream()
+          .map(candidate -> new Match(line, candidate.track, score(line, candidate.track), candidate.source, null))
+          .max(Comparator.comparingDouble(Match::getScore))
+          .orElse(null);
+      matches.add(local);
+      if (local == null || local.getScore() < minScore) {
+        queries.add(query(line));
+      }
+    }
+    if (queries.isEmpty()) {
+      return matches;
+    }
+
+    Map<String, QueryResult> results = new HashMap<>();
+    try (Stream<QueryResult> searches = api.searchAll(queries, new SearchTypes(ResultType.TRACK), SEARCH_RESULTS,
+        parallelism, rateLimiter)) {
+      searches.forEach(result -> results.put(result.getQuery(), result));
+    }
+    for (int i = 0; i < matches.size(); i++) {
+      Match local = matches.get(i);
+      if (local != null && local.getScore() >= minScore) {
+        continue;
+      }
+      Match found = match(lines.get(i), results.get(query(lines.get(i))));
+      matches.set(i, local != null && local.getScore() >= found.getScore() ? local : found);
+    }
+    return matches;
+  }
+
+  private static String query(String line) {
+    return SEPARATOR.matcher(line).replaceAll(" ");
+  }
+
+  private static Match match(String line, QueryResult result) {
+    if (!result.isSuccess()) {
+      return new Match(line, null, 0, Source.NONE, result.getException().orElse(null));
+    }
+    return result.getResponse().get().getTracks().stream()
+        .map(track -> new Match(line, track, score(line, track), Source.SEARCH, null))
+        .max(Comparator.comparingDouble(Match::getScore))
+        .orElseGet(() -> new Match(line, null, 0, Source.NONE, null));
+  }
+
+  public enum Source {
+    /**
+     * Matched a track of the library cache.
+     */
+    LIBRARY,
+    /**
+     * Matched a store track the api has recently received.
+     */
+    CATALOG,
+    /**
+     * Best result of a server search.
+     */
+    SEARCH,
+    /**
+     * Nothing found or the search failed.
+     */
+    NONE
+  }
+
+  public static class Match {
+    private final String line;
+    private final Track track;
+    private final double score;
+    private final Source source;
+    private final IOException exception;
+
+    Match(String line, Track track, double score, Source source, IOException exception) {
+      this.line = line;
+      this.track = track;
+      this.score = score;
+      this.source = source;
+      this.exception = exception;
+    }
+
+    public String getLine() {
+      return line;
+    }
+
+    public Optional<Track> getTrack() {
+      return Optional.ofNullable(track);
+    }
+
+    /**
+     * @return similarity between line and track as computed by {@link TrackResolver#score(String, Track)}.
+     */
+    public double getScore() {
+      return score;
+    }
+
+    public Source getSource() {
+      return source;
+    }
+
+    /**
+     * @return the exception of a failed server search.
+     */
+    public Optional<IOException> getException() {
+      return Optional.ofNullable(exception);
+    }
+  }
+
+  private static class Candidate {
+    private final Track track;
+    private final Source source;
+
+    Candidate(Track track, Source source) {
+      this.track = track;
+      this.source = source;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.github.felixgail.gplaymusic.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Fuzzy lookup of items by text. Texts are normalized (lower case, no diacritics or punctuation) and split into
+ * overlapping three character sequences. Similarity is the Dice coefficient of the trigram sets,
+ * so typos and missing words lower the score instead of preventing a match.
+ * <br>
+ * Not thread safe, meant to be built for a batch of lookups.
+ */
+class TrigramIndex<T> {
+  private final static Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private final static Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+  private final List<T> items = new ArrayList<>();
+  private final List<Integer> trigramCounts = new ArrayList<>();
+  private final Map<String, List<Integer>> postings = new HashMap<>();
+
+  static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+    return SEPARATOR.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+  }
+
+  static Set<String> trigrams(String text) {
+    String padded = "  " + normalize(text) + " ";
+    Set<String> trigrams = new HashSet<>();
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      trigrams.add(padded.substring(i, i + 3));
+    }
+    return trigrams;
+  }
+
+  /**
+   * @return Dice coefficient of the trigrams of both texts, between 0 and 1.
+   */
+  static double similarity(String a, String b) {
+    Set<String> first = trigrams(a);
+    Set<String> second = trigrams(b);
+    if (first.isEmpty() || second.isEmpty()) {
+      return 0;
+    }
+    int shared = 0;
+    for (String trigram : first) {
+      if (second.contains(trigram)) {
+        shared++;
+      }
+    }
+    return 2.0 * shared / (first.size() + second.size());
+  }
+
+  void add(String text, T item) {
+    int id = items.size();
+    Set<String> trigrams = trigrams(text);
+    items.add(item);
+    trigramCounts.add(trigrams.size());
+    for (String trigram : trigrams) {
+      postings.computeIfAbsent(trigram, t -> new ArrayList<>()).add(id);
+    }
+  }
+
+  int size() {
+    return items.size();
+  }
+
+  /**
+   * @return up to {@code limit} items most similar to {@code text}, best first. Items sharing no trigram are
+   * never returned.
+   */
+  List<T> candidates(String text, int limit) {
+    Set<String> query = trigrams(text);
+    int[] shared = new int[items.size()];
+    List<Integer> touched = new ArrayList<>();
+    for (String trigram : query) {
+      List<Integer> ids = postings.get(trigram);
+      if (ids == null) {
+        continue;
+      }
+      for (int id : ids) {
+        if (shared[id]++ == 0) {
+          touched.add(id);
+        }
+      }
+    }
+    Comparator<Integer> bySimilarity = Comparator.comparingDouble(
+        id -> 2.0 * shared[id] / (query.size() + trigramCounts.get(id)));
+    PriorityQueue<Integer> best = new PriorityQueue<>(bySimilarity);
+    for (int id : touched) {
+      best.add(id);
+      if (best.size() > limit) {
+        best.poll();
+      }
+    }
+    List<T> result = new ArrayList<>(best.size());
+    while (!best.isEmpty()) {
+      result.add(0, items.get(best.poll()));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,63 @@
+package com.github.felixgail.gplaymusic.util;
+
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+
+import java.io.IOException;
+
+/**
+ * Keeps the first {@code maxBytes} written to it and discards the rest, so capturing a body for logging
+ * never holds more than {@code maxBytes} of it.
+ */
+public class TruncatingSink extends ForwardingSink {
+  private final Buffer captured;
+  private final long maxBytes;
+  private long discarded = 0;
+
+  public TruncatingSink(long maxBytes) {
+    this(new Buffer(), maxBytes);
+  }
+
+  private TruncatingSink(Buffer captured, long maxBytes) {
+    super(captured);
+    this.captured = captured;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Writes {@code body} into a new sink keeping at most {@code maxBytes} of it.
+   */
+  public static TruncatingSink capture(RequestBody body, long maxBytes) throws IOException {
+    TruncatingSink sink = new TruncatingSink(maxBytes);
+    BufferedSink buffered = Okio.buffer(sink);
+    body.writeTo(buffered);
+    buffered.flush();
+    return sink;
+  }
+
+  @Override
+  public void write(Buffer source, long byteCount) throws IOException {
+    long kept = Math.max(0, Math.min(byteCount, maxBytes - captured.size()));
+    if (kept > 0) {
+      super.write(source, kept);
+    }
+    if (byteCount > kept) {
+      source.skip(byteCount - kept);
+      discarded += byteCount - kept;
+    }
+  }
+
+  /**
+   * @return the kept bytes. Reading from it consumes them.
+   */
+  public Buffer getBuffer() {
+    return captured;
+  }
+
+  public boolean isTruncated() {
+    return discarded > 0;
+  }
+}
@@ -3,6 +3,7 @@ package com.github.felixgail.gplaymusic.util.deserializer;
 import com.github.felixgail.gplaymusic.model.listennow.ListenNowStation;
 import com.github.felixgail.gplaymusic.model.snippets.StationSeed;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
@@ -10,10 +11,13 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 
+import java.awt.Color;
 import java.lang.reflect.Type;
 
 public class ListenNowStationDeserializer implements JsonDeserializer<ListenNowStation> {
-  private final static Gson gson = new Gson();
+  private final static Gson gson = new GsonBuilder()
+      .registerTypeAdapter(Color.class, new ColorDeserializer())
+      .create();
 
   @Override
   public ListenNowStation deserialize(JsonElement je, Type type, JsonDeserializationContext jdc) throws JsonParseException {
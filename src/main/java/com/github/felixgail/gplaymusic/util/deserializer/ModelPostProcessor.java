@@ -0,0 +1,74 @@
+package com.github.felixgail.gplaymusic.util.deserializer;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.model.Model;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Binds every deserialized {@link Model} to the api instance whose service received it.
+ * <br>
+ * A processor is either used by a single instance (see {@link #setApi(GPlayMusic)}) or shared between instances.
+ * Shared processors bind models to the instance set for the current thread via {@link #bindThread(GPlayMusic)}.
+ */
+public class ModelPostProcessor implements TypeAdapterFactory {
+  private final static ThreadLocal<GPlayMusic> threadApi = new ThreadLocal<>();
+  private volatile GPlayMusic api;
+
+  public void setApi(GPlayMusic api) {
+    this.api = api;
+  }
+
+  public GPlayMusic getApi() {
+    return api != null ? api : threadApi.get();
+  }
+
+  /**
+   * Sets the instance models parsed on the current thread are bound to, if the processor has no fixed instance.
+   *
+   * @return the instance bound before, to be restored via {@link #restoreThread(GPlayMusic)}.
+   */
+  public static GPlayMusic bindThread(GPlayMusic api) {
+    GPlayMusic previous = threadApi.get();
+    threadApi.set(api);
+    return previous;
+  }
+
+  public static void restoreThread(GPlayMusic previous) {
+    if (previous == null) {
+      threadApi.remove();
+    } else {
+      threadApi.set(previous);
+    }
+  }
+
+  @Override
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (!Model.class.isAssignableFrom(type.getRawType())) {
+      return null;
+    }
+    TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+    return new TypeAdapter<T>() {
+      @Override
+      public void write(JsonWriter out, T value) throws IOException {
+        delegate.write(out, value);
+      }
+
+      @Override
+      public T read(JsonReader in) throws IOException {
+        T value = delegate.read(in);
+        GPlayMusic current = getApi();
+        if (value != null && current != null) {
+          ((Model) value).setApi(current);
+        }
+        return value;
+      }
+    };
+  }
+}
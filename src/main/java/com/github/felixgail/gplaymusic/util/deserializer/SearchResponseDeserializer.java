@@ -0,0 +1,49 @@
+package com.github.felixgail.gplaymusic.util.deserializer;
+
+import com.github.felixgail.gplaymusic.model.enums.ResultType;
+import com.github.felixgail.gplaymusic.model.responses.Result;
+import com.github.felixgail.gplaymusic.model.responses.SearchResponse;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the entries of a search response together with their scores.
+ * Entries of types unknown to {@link ResultType} are skipped.
+ */
+public class SearchResponseDeserializer implements JsonDeserializer<SearchResponse> {
+
+  @Override
+  public SearchResponse deserialize(JsonElement je, Type type, JsonDeserializationContext jdc)
+      throws JsonParseException {
+    JsonObject content = je.getAsJsonObject();
+    JsonArray array = content.has("entries") ? content.getAsJsonArray("entries") : new JsonArray();
+    List<Result> entries = new ArrayList<>(array.size());
+    Map<Result, Double> scores = new IdentityHashMap<>();
+    for (JsonElement element : array) {
+      JsonObject entry = element.getAsJsonObject();
+      ResultType resultType = jdc.deserialize(entry.get("type"), ResultType.class);
+      if (resultType == null || !entry.has(resultType.getName())) {
+        continue;
+      }
+      Result result = jdc.deserialize(entry.get(resultType.getName()), resultType.getType());
+      if (result == null) {
+        continue;
+      }
+      entries.add(result);
+      if (entry.has("score") && !entry.get("score").isJsonNull()) {
+        scores.put(result, entry.get("score").getAsDouble());
+      }
+    }
+    return new SearchResponse(entries, scores);
+  }
+}
@@ -0,0 +1,31 @@
+package com.github.felixgail.gplaymusic.util.events;
+
+/**
+ * A started event, see {@link LibraryEvents#begin(LibraryEvents.Kind, String)}.
+ * Spans closed without a call to {@link #succeeded(long)} are committed as failed.
+ */
+public interface EventSpan extends AutoCloseable {
+
+  EventSpan NOOP = new EventSpan() {
+    @Override
+    public void succeeded(long count) {
+    }
+
+    @Override
+    public void close() {
+    }
+  };
+
+  /**
+   * Marks the event as successful.
+   *
+   * @param count count recorded with the event, see {@link LibraryEvents.Kind}
+   */
+  void succeeded(long count);
+
+  /**
+   * Ends and commits the event.
+   */
+  @Override
+  void close();
+}
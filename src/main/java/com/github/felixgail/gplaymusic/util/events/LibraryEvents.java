@@ -0,0 +1,90 @@
+package com.github.felixgail.gplaymusic.util.events;
+
+/**
+ * Facade for events describing work done by this library, e.g. for correlation with GC and CPU activity in
+ * Java Flight Recorder.
+ * <br>
+ * When built with JDK 11 or newer (see the {@code jfr} profile) and running on a JVM providing {@code jdk.jfr},
+ * events are emitted as JFR events in the category "GPlayMusic". Otherwise, and while no recording has the
+ * events enabled, {@link #begin(Kind, String)} returns a shared no-op span.
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.CACHE_UPDATE, "TrackCache")) {
+ *   ...
+ *   span.succeeded(items.size());
+ * }
+ * }</pre>
+ */
+public abstract class LibraryEvents {
+  private final static String JFR_IMPLEMENTATION = "com.github.felixgail.gplaymusic.util.events.JfrLibraryEvents";
+  private final static LibraryEvents instance = load();
+
+  /**
+   * Kinds of events. The meaning of the count passed to {@link EventSpan#succeeded(long)} depends on the kind.
+   */
+  public enum Kind {
+    /**
+     * A http call to the service. Name: path. Count: status code.
+     */
+    SERVICE_CALL,
+    /**
+     * A page fetched by a {@link com.github.felixgail.gplaymusic.model.PagingHandler}.
+     * Name: type of the handler. Count: items in the page.
+     */
+    PAGE,
+    /**
+     * A {@link com.github.felixgail.gplaymusic.cache.Cache#update()}. Name: cache type. Count: cached items.
+     */
+    CACHE_UPDATE,
+    /**
+     * A {@link com.github.felixgail.gplaymusic.cache.Cache#initialize()} that filled the cache.
+     * Name: cache type. Count: cached items.
+     */
+    CACHE_INITIALIZE,
+    /**
+     * A batch of mutations sent in one request. Name: batch url. Count: mutations.
+     */
+    MUTATION_BATCH,
+    /**
+     * A download of a track. Name: track id. Count: bytes written.
+     */
+    DOWNLOAD
+  }
+
+  /**
+   * Starts an event. The event is committed when the returned span is closed.
+   *
+   * @param kind kind of the event
+   * @param name short description, see {@link Kind}
+   */
+  public static EventSpan begin(Kind kind, String name) {
+    return instance.start(kind, name);
+  }
+
+  /**
+   * @return whether events are emitted to an event system (regardless of whether they are currently recorded).
+   */
+  public static boolean isAvailable() {
+    return !(instance instanceof Noop);
+  }
+
+  protected abstract EventSpan start(Kind kind, String name);
+
+  private static LibraryEvents load() {
+    try {
+      Class<?> implementation = Class.forName(JFR_IMPLEMENTATION);
+      return (LibraryEvents) implementation.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+      // Not built with the jfr profile or no jdk.jfr at runtime.
+      return new Noop();
+    }
+  }
+
+  private static class Noop extends LibraryEvents {
+    @Override
+    protected EventSpan start(Kind kind, String name) {
+      return EventSpan.NOOP;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.github.felixgail.gplaymusic.util.interceptor;
+
+import com.github.felixgail.gplaymusic.util.events.EventSpan;
+import com.github.felixgail.gplaymusic.util.events.LibraryEvents;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Emits a {@link LibraryEvents.Kind#SERVICE_CALL} event for every request.
+ */
+public class EventInterceptor implements Interceptor {
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    try (EventSpan span = LibraryEvents.begin(LibraryEvents.Kind.SERVICE_CALL, request.url().encodedPath())) {
+      Response response = chain.proceed(request);
+      span.succeeded(response.code());
+      return response;
+    }
+  }
+}
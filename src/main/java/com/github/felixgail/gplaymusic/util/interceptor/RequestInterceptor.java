@@ -8,58 +8,95 @@ import svarzee.gps.gpsoauth.AuthToken;
 
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Adds the authorization header and common query parameters to every request.
+ * <br>
+ * Parameters and token are kept in an immutable snapshot with the encoded query and header value already computed.
+ * Changes replace the snapshot atomically, so requests in flight always see a consistent state.
+ */
 public class RequestInterceptor implements Interceptor {
 
-  private final Map<String, String> parameters;
-  private AuthToken token;
+  private volatile Snapshot snapshot;
 
   public RequestInterceptor(@NotNull AuthToken token) {
-    parameters = new HashMap<>();
-    this.token = token;
+    this.snapshot = new Snapshot(Collections.emptyMap(), token);
   }
 
   @Override
   public Response intercept(Chain chain) throws IOException {
+    Snapshot current = snapshot;
     Request original = chain.request();
-    HttpUrl originalHttpUrl = original.url();
+    Request.Builder builder = original.newBuilder();
 
-    HttpUrl.Builder httpBuilder = originalHttpUrl.newBuilder();
-
-    for (Map.Entry<String, String> entry : parameters.entrySet()) {
-      httpBuilder.addQueryParameter(entry.getKey(), entry.getValue());
+    if (!current.encodedQuery.isEmpty()) {
+      HttpUrl originalHttpUrl = original.url();
+      String query = originalHttpUrl.encodedQuery();
+      builder.url(originalHttpUrl.newBuilder()
+          .encodedQuery(query == null || query.isEmpty() ? current.encodedQuery : query + "&" + current.encodedQuery)
+          .build());
     }
 
-    HttpUrl url = httpBuilder.build();
-
     // Request customization: add request headers
-    Request request = original.newBuilder()
-        .url(url)
-        .addHeader("Authorization", "GoogleLogin auth=" + this.token.getToken())
+    Request request = builder
+        .addHeader("Authorization", current.authorization)
         .addHeader("Content-Type", "application/json")
         .build();
 
     return chain.proceed(request);
   }
 
+  /**
+   * @return an unmodifiable view of the parameters added to every request.
+   */
   public Map<String, String> getParameters() {
-    return parameters;
+    return snapshot.parameters;
   }
 
-  public RequestInterceptor addParameter(String key, String value) {
-    this.parameters.put(key, value);
+  public synchronized RequestInterceptor addParameter(String key, String value) {
+    Map<String, String> parameters = new LinkedHashMap<>(snapshot.parameters);
+    parameters.put(key, value);
+    snapshot = new Snapshot(parameters, snapshot.token);
     return this;
   }
 
-  public RequestInterceptor removeParameter(String key) {
-    this.parameters.remove(key);
+  public synchronized RequestInterceptor removeParameter(String key) {
+    Map<String, String> parameters = new LinkedHashMap<>(snapshot.parameters);
+    parameters.remove(key);
+    snapshot = new Snapshot(parameters, snapshot.token);
     return this;
   }
 
-  public RequestInterceptor setToken(@NotNull AuthToken token) {
-    this.token = token;
+  public synchronized RequestInterceptor setToken(@NotNull AuthToken token) {
+    snapshot = new Snapshot(snapshot.parameters, token);
     return this;
   }
+
+  private static class Snapshot {
+    private final Map<String, String> parameters;
+    private final AuthToken token;
+    private final String authorization;
+    private final String encodedQuery;
+
+    Snapshot(Map<String, String> parameters, AuthToken token) {
+      this.parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+      this.token = token;
+      this.authorization = "GoogleLogin auth=" + token.getToken();
+      this.encodedQuery = encode(this.parameters);
+    }
+
+    private static String encode(Map<String, String> parameters) {
+      if (parameters.isEmpty()) {
+        return "";
+      }
+      HttpUrl.Builder builder = new HttpUrl.Builder().scheme("https").host("localhost");
+      for (Map.Entry<String, String> entry : parameters.entrySet()) {
+        builder.addQueryParameter(entry.getKey(), entry.getValue());
+      }
+      return builder.build().encodedQuery();
+    }
+  }
 }
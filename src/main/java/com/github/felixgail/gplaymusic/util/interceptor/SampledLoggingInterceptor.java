@@ -0,0 +1,236 @@
+package com.github.felixgail.gplaymusic.util.interceptor;
+
+import com.github.felixgail.gplaymusic.util.DaemonThreadFactory;
+import com.github.felixgail.gplaymusic.util.TruncatingSink;
+import com.google.gson.stream.JsonWriter;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logs a sample of requests as single line JSON records, meant to be enabled in production.
+ * <br>
+ * Unlike {@link LoggingInterceptor}, this interceptor
+ * <ul>
+ * <li>only looks at a configurable fraction of requests, optionally per endpoint (path prefix),</li>
+ * <li>captures at most {@code maxBodyBytes} of request and response bodies without consuming the response,</li>
+ * <li>formats and writes records on a background thread. If the background queue is full,
+ * records are dropped (see {@link #getDroppedCount()}) instead of slowing down requests.</li>
+ * </ul>
+ * The {@code Authorization} header is never logged.
+ * <br>
+ * Record fields: {@code method}, {@code url}, {@code status}, {@code durationMillis}, {@code requestHeaders},
+ * {@code requestBody}, {@code responseHeaders}, {@code responseBody} and {@code error} on failures.
+ */
+public class SampledLoggingInterceptor implements Interceptor {
+  public final static long DEFAULT_MAX_BODY_BYTES = 2048;
+  private final static int QUEUE_CAPACITY = 1024;
+
+  private final Logger logger;
+  private final double defaultSampleRate;
+  private final long maxBodyBytes;
+  private final boolean logBodies;
+  private final ExecutorService formatter;
+  private final TreeMap<String, Double> endpointRates = new TreeMap<>();
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * Creates an interceptor logging to the logger of this class with {@link #DEFAULT_MAX_BODY_BYTES}.
+   *
+   * @param sampleRate fraction of requests to log, between 0 and 1.
+   */
+  public SampledLoggingInterceptor(double sampleRate) {
+    this(Logger.getLogger(SampledLoggingInterceptor.class.getName()), sampleRate, DEFAULT_MAX_BODY_BYTES);
+  }
+
+  /**
+   * @param logger       logger the records are written to with level {@link Level#INFO}
+   * @param sampleRate   fraction of requests to log, between 0 and 1. Can be overridden per endpoint via
+   *                     {@link #setEndpointSampleRate(String, double)}.
+   * @param maxBodyBytes maximum amount of body bytes captured per body. 0 disables body capturing.
+   */
+  public SampledLoggingInterceptor(Logger logger, double sampleRate, long maxBodyBytes) {
+    checkRate(sampleRate);
+    this.logger = logger;
+    this.defaultSampleRate = sampleRate;
+    this.maxBodyBytes = maxBodyBytes;
+    this.logBodies = maxBodyBytes > 0;
+    this.formatter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(QUEUE_CAPACITY), new DaemonThreadFactory("gplaymusic-logging"));
+  }
+
+  /**
+   * Sets the sample rate for all requests whose path starts with {@code pathPrefix}
+   * (e.g. "sj/v2.5/trackfeed" or "music/"). The longest matching prefix wins.
+   *
+   * @return this interceptor.
+   */
+  public SampledLoggingInterceptor setEndpointSampleRate(String pathPrefix, double sampleRate) {
+    checkRate(sampleRate);
+    String prefix = pathPrefix.startsWith("/") ? pathPrefix : "/" + pathPrefix;
+    synchronized (endpointRates) {
+      endpointRates.put(prefix, sampleRate);
+    }
+    return this;
+  }
+
+  /**
+   * @return the amount of records dropped because the background queue was full.
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Stops the background thread. Records still queued are written before it terminates.
+   */
+  public void shutdown() {
+    formatter.shutdown();
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    if (!isSampled(request.url().encodedPath())) {
+      return chain.proceed(request);
+    }
+    Record record = new Record();
+    record.method = request.method();
+    record.url = request.url().toString();
+    record.requestHeaders = request.headers();
+    if (logBodies && request.body() != null) {
+      try {
+        record.requestBody = TruncatingSink.capture(request.body(), maxBodyBytes).getBuffer().readByteArray();
+      } catch (IOException e) {
+        record.requestBody = null;
+      }
+    }
+    long start = System.nanoTime();
+    Response response;
+    try {
+      response = chain.proceed(request);
+    } catch (IOException | RuntimeException e) {
+      record.durationNanos = System.nanoTime() - start;
+      record.error = e.toString();
+      submit(record);
+      throw e;
+    }
+    record.durationNanos = System.nanoTime() - start;
+    record.status = response.code();
+    record.responseHeaders = response.headers();
+    if (logBodies && response.body() != null) {
+      ResponseBody peeked = response.peekBody(maxBodyBytes);
+      record.responseBody = peeked.bytes();
+      record.responseTruncated = response.body().contentLength() > maxBodyBytes
+          || (response.body().contentLength() < 0 && record.responseBody.length == maxBodyBytes);
+    }
+    submit(record);
+    return response;
+  }
+
+  private boolean isSampled(String path) {
+    double rate = defaultSampleRate;
+    synchronized (endpointRates) {
+      if (!endpointRates.isEmpty()) {
+        Map.Entry<String, Double> entry = endpointRates.floorEntry(path);
+        while (entry != null && !path.startsWith(entry.getKey())) {
+          entry = endpointRates.lowerEntry(entry.getKey());
+        }
+        if (entry != null) {
+          rate = entry.getValue();
+        }
+      }
+    }
+    return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  private void submit(Record record) {
+    try {
+      formatter.execute(() -> {
+        if (logger.isLoggable(Level.INFO)) {
+          logger.info(record.toJson());
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  private static void checkRate(double rate) {
+    if (rate < 0 || rate > 1) {
+      throw new IllegalArgumentException("Sample rate has to be between 0 and 1.");
+    }
+  }
+
+  private static class Record {
+    private String method;
+    private String url;
+    private int status = -1;
+    private long durationNanos;
+    private Headers requestHeaders;
+    private Headers responseHeaders;
+    private byte[] requestBody;
+    private byte[] responseBody;
+    private boolean responseTruncated;
+    private String error;
+
+    String toJson() {
+      StringWriter out = new StringWriter();
+      try (JsonWriter writer = new JsonWriter(out)) {
+        writer.beginObject();
+        writer.name("method").value(method);
+        writer.name("url").value(url);
+        if (status >= 0) {
+          writer.name("status").value(status);
+        }
+        writer.name("durationMillis").value(durationNanos / 1_000_000.0);
+        writeHeaders(writer, "requestHeaders", requestHeaders);
+        if (requestBody != null) {
+          writer.name("requestBody").value(new String(requestBody, StandardCharsets.UTF_8));
+        }
+        writeHeaders(writer, "responseHeaders", responseHeaders);
+        if (responseBody != null) {
+          writer.name("responseBody").value(new String(responseBody, StandardCharsets.UTF_8));
+          writer.name("responseBodyTruncated").value(responseTruncated);
+        }
+        if (error != null) {
+          writer.name("error").value(error);
+        }
+        writer.endObject();
+      } catch (IOException e) {
+        return "{\"error\":\"" + e.getMessage() + "\"}";
+      }
+      return out.toString();
+    }
+
+    private static void writeHeaders(JsonWriter writer, String name, Headers headers) throws IOException {
+      if (headers == null) {
+        return;
+      }
+      writer.name(name).beginObject();
+      for (int i = 0; i < headers.size(); i++) {
+        if (!headers.name(i).equalsIgnoreCase("Authorization")) {
+          writer.name(headers.name(i)).value(headers.value(i));
+        }
+      }
+      writer.endObject();
+    }
+  }
+}
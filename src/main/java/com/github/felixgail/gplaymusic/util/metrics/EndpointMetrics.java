@@ -0,0 +1,73 @@
+package com.github.felixgail.gplaymusic.util.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mutable metrics of a single logical endpoint, updated by {@link MetricsInterceptor}.
+ */
+class EndpointMetrics {
+  private final String endpoint;
+  private final LatencyHistogram latencyMicros = new LatencyHistogram();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+  private final LongAdder bytesReceived = new LongAdder();
+  private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+  EndpointMetrics(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  void recordLatency(long nanos) {
+    latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
+
+  void recordStatus(int code) {
+    statusCodes.computeIfAbsent(code, c -> new LongAdder()).increment();
+  }
+
+  void recordFailure() {
+    failures.increment();
+  }
+
+  void recordRetries(int count) {
+    if (count > 0) {
+      retries.add(count);
+    }
+  }
+
+  void addBytesSent(long bytes) {
+    if (bytes > 0) {
+      bytesSent.add(bytes);
+    }
+  }
+
+  void addBytesReceived(long bytes) {
+    bytesReceived.add(bytes);
+  }
+
+  void reset() {
+    latencyMicros.reset();
+    failures.reset();
+    retries.reset();
+    bytesSent.reset();
+    bytesReceived.reset();
+    statusCodes.clear();
+  }
+
+  EndpointSnapshot snapshot() {
+    Map<Integer, Long> codes = new TreeMap<>();
+    statusCodes.forEach((code, adder) -> codes.put(code, adder.sum()));
+    return new EndpointSnapshot(endpoint, latencyMicros.getCount(), failures.sum(), retries.sum(),
+        bytesSent.sum(), bytesReceived.sum(), codes,
+        latencyMicros.getMean() / 1000,
+        latencyMicros.getValueAtPercentile(50) / 1000.0,
+        latencyMicros.getValueAtPercentile(90) / 1000.0,
+        latencyMicros.getValueAtPercentile(99) / 1000.0,
+        latencyMicros.getMax() / 1000.0);
+  }
+}
@@ -0,0 +1,115 @@
+package com.github.felixgail.gplaymusic.util.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of the metrics of a single logical endpoint (e.g. {@code sj/v2.5/trackfeed}).
+ * Latencies are measured from sending the request until the response headers were received.
+ */
+public class EndpointSnapshot {
+  private final String endpoint;
+  private final long requests;
+  private final long failures;
+  private final long retries;
+  private final long bytesSent;
+  private final long bytesReceived;
+  private final Map<Integer, Long> statusCodes;
+  private final double meanMillis;
+  private final double p50Millis;
+  private final double p90Millis;
+  private final double p99Millis;
+  private final double maxMillis;
+
+  @ConstructorProperties({"endpoint", "requests", "failures", "retries", "bytesSent", "bytesReceived",
+      "statusCodes", "meanMillis", "p50Millis", "p90Millis", "p99Millis", "maxMillis"})
+  public EndpointSnapshot(String endpoint, long requests, long failures, long retries, long bytesSent,
+                          long bytesReceived, Map<Integer, Long> statusCodes, double meanMillis,
+                          double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+    this.endpoint = endpoint;
+    this.requests = requests;
+    this.failures = failures;
+    this.retries = retries;
+    this.bytesSent = bytesSent;
+    this.bytesReceived = bytesReceived;
+    this.statusCodes = Collections.unmodifiableMap(new TreeMap<>(statusCodes));
+    this.meanMillis = meanMillis;
+    this.p50Millis = p50Millis;
+    this.p90Millis = p90Millis;
+    this.p99Millis = p99Millis;
+    this.maxMillis = maxMillis;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * @return the amount of requests made, including failed ones.
+   */
+  public long getRequests() {
+    return requests;
+  }
+
+  /**
+   * @return the amount of requests that failed without a response (e.g. timeouts or connection errors).
+   */
+  public long getFailures() {
+    return failures;
+  }
+
+  /**
+   * @return the amount of additional network attempts made by the client (retries and redirects).
+   */
+  public long getRetries() {
+    return retries;
+  }
+
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  /**
+   * @return the amount of (decoded) response body bytes read so far.
+   */
+  public long getBytesReceived() {
+    return bytesReceived;
+  }
+
+  /**
+   * @return an unmodifiable map from HTTP status code to the amount of responses with this code.
+   */
+  public Map<Integer, Long> getStatusCodes() {
+    return statusCodes;
+  }
+
+  public double getMeanMillis() {
+    return meanMillis;
+  }
+
+  public double getP50Millis() {
+    return p50Millis;
+  }
+
+  public double getP90Millis() {
+    return p90Millis;
+  }
+
+  public double getP99Millis() {
+    return p99Millis;
+  }
+
+  public double getMaxMillis() {
+    return maxMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: requests=%d failures=%d retries=%d sent=%d received=%d status=%s "
+            + "mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+        endpoint, requests, failures, retries, bytesSent, bytesReceived, statusCodes,
+        meanMillis, p50Millis, p90Millis, p99Millis, maxMillis);
+  }
+}
@@ -0,0 +1,109 @@
+package com.github.felixgail.gplaymusic.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram with log-linear buckets, similar to HdrHistogram.
+ * <br>
+ * Values are grouped by their power of two, each power is split into {@code 2^SUB_BUCKET_BITS} linear sub buckets.
+ * This bounds the relative error of reported values to {@code 1/2^SUB_BUCKET_BITS} (about 3%) while using a
+ * fixed amount of memory. Recording a value does not allocate.
+ */
+public class LatencyHistogram {
+  private final static int SUB_BUCKET_BITS = 5;
+  private final static int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  /**
+   * Values above this are recorded as this value.
+   */
+  public final static long MAX_VALUE = (1L << 40) - 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a value. Negative values are recorded as 0.
+   */
+  public void record(long value) {
+    long clamped = Math.min(Math.max(value, 0), MAX_VALUE);
+    counts.incrementAndGet(indexOf(clamped));
+    count.incrementAndGet();
+    sum.addAndGet(clamped);
+    max.accumulateAndGet(clamped, Math::max);
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getSum() {
+    return sum.get();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public double getMean() {
+    long total = count.get();
+    return total == 0 ? 0 : (double) sum.get() / total;
+  }
+
+  /**
+   * Returns the value below which {@code percentile} percent of all recorded values fall.
+   * The returned value is the upper bound of the bucket containing the percentile, but never above
+   * {@link #getMax()}.
+   *
+   * @param percentile percentile between 0 and 100
+   * @return the value at the given percentile or 0 if no values were recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long total = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      total += counts.get(i);
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      seen += counts.get(i);
+      if (seen >= target) {
+        return Math.min(upperBoundOf(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Clears all recorded values. Values recorded concurrently may be partially kept.
+   */
+  public void reset() {
+    for (int i = 0; i < counts.length(); i++) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+  }
+
+  static long upperBoundOf(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index >>> SUB_BUCKET_BITS) - 1;
+    long subBucket = (index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,180 @@
+package com.github.felixgail.gplaymusic.util.metrics;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records latency, transferred bytes, status codes and retries per logical endpoint.
+ * <br>
+ * Logical endpoints are the request paths relative to the api root (e.g. {@code sj/v2.5/trackfeed}).
+ * Paths matching a template added via {@link #addTemplate(String)} are grouped under that template,
+ * e.g. {@code music/mplay} and {@code music/play} are both recorded as {@code music/{provider}}.
+ * <br>
+ * Add this interceptor as application interceptor. Retries are only counted if {@link #getNetworkInterceptor()}
+ * is added as network interceptor of the same client.
+ * {@link com.github.felixgail.gplaymusic.api.GPlayMusic.Builder#setMetrics(MetricsInterceptor)} does both.
+ */
+public class MetricsInterceptor implements Interceptor, MetricsMXBean {
+  public final static String JMX_DOMAIN = "com.github.felixgail.gplaymusic";
+
+  private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+  private final List<String[]> templates = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<int[]> attempts = ThreadLocal.withInitial(() -> new int[1]);
+  private final Interceptor networkInterceptor = chain -> {
+    attempts.get()[0]++;
+    return chain.proceed(chain.request());
+  };
+
+  public MetricsInterceptor() {
+    addTemplate("music/{provider}");
+  }
+
+  /**
+   * Groups all paths matching {@code template} under one endpoint.
+   * Segments in curly braces match any single path segment.
+   *
+   * @param template path template relative to the api root, e.g. {@code sj/v2.5/shared/{id}}.
+   * @return this interceptor.
+   */
+  public MetricsInterceptor addTemplate(String template) {
+    templates.add(split(template));
+    return this;
+  }
+
+  /**
+   * @return the interceptor that has to be added as network interceptor to count retries.
+   */
+  public Interceptor getNetworkInterceptor() {
+    return networkInterceptor;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    EndpointMetrics metrics = endpoints.computeIfAbsent(resolve(request.url().encodedPath()), EndpointMetrics::new);
+    if (request.body() != null) {
+      metrics.addBytesSent(request.body().contentLength());
+    }
+    int[] counter = attempts.get();
+    int outer = counter[0];
+    counter[0] = 0;
+    long start = System.nanoTime();
+    Response response;
+    try {
+      response = chain.proceed(request);
+    } catch (IOException | RuntimeException e) {
+      metrics.recordLatency(System.nanoTime() - start);
+      metrics.recordFailure();
+      throw e;
+    } finally {
+      metrics.recordRetries(counter[0] - 1);
+      counter[0] = outer;
+    }
+    metrics.recordLatency(System.nanoTime() - start);
+    metrics.recordStatus(response.code());
+    ResponseBody body = response.body();
+    if (body == null) {
+      return response;
+    }
+    ResponseBody counting = ResponseBody.create(body.contentType(), body.contentLength(),
+        Okio.buffer(new ForwardingSource(body.source()) {
+          @Override
+          public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+            if (read > 0) {
+              metrics.addBytesReceived(read);
+            }
+            return read;
+          }
+        }));
+    return response.newBuilder().body(counting).build();
+  }
+
+  /**
+   * @return a snapshot of every endpoint requested so far, ordered by endpoint.
+   */
+  @Override
+  public List<EndpointSnapshot> getEndpoints() {
+    List<EndpointSnapshot> snapshots = new ArrayList<>(endpoints.size());
+    endpoints.values().forEach(metrics -> snapshots.add(metrics.snapshot()));
+    snapshots.sort((a, b) -> a.getEndpoint().compareTo(b.getEndpoint()));
+    return snapshots;
+  }
+
+  /**
+   * @param endpoint endpoint or template, e.g. {@code sj/v2.5/trackfeed}
+   * @return a snapshot of the endpoint or {@link Optional#empty()} if it was never requested.
+   */
+  public Optional<EndpointSnapshot> getSnapshot(String endpoint) {
+    return Optional.ofNullable(endpoints.get(endpoint)).map(EndpointMetrics::snapshot);
+  }
+
+  @Override
+  public long getTotalRequests() {
+    return getEndpoints().stream().mapToLong(EndpointSnapshot::getRequests).sum();
+  }
+
+  @Override
+  public void reset() {
+    endpoints.values().forEach(EndpointMetrics::reset);
+  }
+
+  /**
+   * Registers this interceptor at the platform MBean server as
+   * {@code com.github.felixgail.gplaymusic:type=Metrics,name=<name>}.
+   *
+   * @return the name the bean was registered with.
+   * @throws JMException if the name is invalid or already taken.
+   */
+  public ObjectName registerMBean(String name) throws JMException {
+    ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name));
+    ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+    return objectName;
+  }
+
+  String resolve(String encodedPath) {
+    String path = encodedPath.startsWith("/") ? encodedPath.substring(1) : encodedPath;
+    if (templates.isEmpty()) {
+      return path;
+    }
+    String[] segments = split(path);
+    for (String[] template : templates) {
+      if (matches(template, segments)) {
+        return String.join("/", template);
+      }
+    }
+    return path;
+  }
+
+  private static boolean matches(String[] template, String[] segments) {
+    if (template.length != segments.length) {
+      return false;
+    }
+    for (int i = 0; i < template.length; i++) {
+      if (!(template[i].startsWith("{") && template[i].endsWith("}")) && !template[i].equals(segments[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String[] split(String path) {
+    return (path.startsWith("/") ? path.substring(1) : path).split("/");
+  }
+}
@@ -0,0 +1,15 @@
+package com.github.felixgail.gplaymusic.util.metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of a {@link MetricsInterceptor}, see {@link MetricsInterceptor#registerMBean(String)}.
+ */
+public interface MetricsMXBean {
+
+  List<EndpointSnapshot> getEndpoints();
+
+  long getTotalRequests();
+
+  void reset();
+}
@@ -0,0 +1,114 @@
+package com.github.felixgail.gplaymusic.util.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emits {@link LibraryEvents} as JFR events. Loaded reflectively by {@link LibraryEvents}.
+ * Only compiled with the {@code jfr} profile (JDK 11 or newer).
+ */
+class JfrLibraryEvents extends LibraryEvents {
+
+  @Override
+  protected EventSpan start(Kind kind, String name) {
+    LibraryEvent event = create(kind);
+    if (!event.isEnabled()) {
+      return EventSpan.NOOP;
+    }
+    event.name = name;
+    event.begin();
+    return new JfrSpan(event);
+  }
+
+  private static LibraryEvent create(Kind kind) {
+    switch (kind) {
+      case SERVICE_CALL:
+        return new ServiceCallEvent();
+      case PAGE:
+        return new PageEvent();
+      case CACHE_UPDATE:
+        return new CacheUpdateEvent();
+      case CACHE_INITIALIZE:
+        return new CacheInitializeEvent();
+      case MUTATION_BATCH:
+        return new MutationBatchEvent();
+      case DOWNLOAD:
+        return new DownloadEvent();
+      default:
+        throw new IllegalArgumentException(kind.name());
+    }
+  }
+
+  private static class JfrSpan implements EventSpan {
+    private final LibraryEvent event;
+
+    JfrSpan(LibraryEvent event) {
+      this.event = event;
+    }
+
+    @Override
+    public void succeeded(long count) {
+      event.count = count;
+      event.success = true;
+    }
+
+    @Override
+    public void close() {
+      event.end();
+      if (event.shouldCommit()) {
+        event.commit();
+      }
+    }
+  }
+
+  @Category("GPlayMusic")
+  @StackTrace(false)
+  abstract static class LibraryEvent extends Event {
+    @Label("Name")
+    String name;
+    @Label("Count")
+    long count;
+    @Label("Success")
+    boolean success;
+  }
+
+  @Name("com.github.felixgail.gplaymusic.ServiceCall")
+  @Label("Service Call")
+  @Description("HTTP call to the service. Name is method and path, count the status code.")
+  static class ServiceCallEvent extends LibraryEvent {
+  }
+
+  @Name("com.github.felixgail.gplaymusic.Page")
+  @Label("Page")
+  @Description("Page fetched by a PagingHandler. Count is the amount of items in the page.")
+  static class PageEvent extends LibraryEvent {
+  }
+
+  @Name("com.github.felixgail.gplaymusic.CacheUpdate")
+  @Label("Cache Update")
+  @Description("Cache update. Count is the amount of cached items.")
+  static class CacheUpdateEvent extends LibraryEvent {
+  }
+
+  @Name("com.github.felixgail.gplaymusic.CacheInitialize")
+  @Label("Cache Initialize")
+  @Description("Cache initialization including its first update. Count is the amount of cached items.")
+  static class CacheInitializeEvent extends LibraryEvent {
+  }
+
+  @Name("com.github.felixgail.gplaymusic.MutationBatch")
+  @Label("Mutation Batch")
+  @Description("Batch of mutations sent in one request. Name is the batch url, count the amount of mutations.")
+  static class MutationBatchEvent extends LibraryEvent {
+  }
+
+  @Name("com.github.felixgail.gplaymusic.Download")
+  @Label("Download")
+  @Description("Track download. Name is the track id, count the amount of bytes written.")
+  static class DownloadEvent extends LibraryEvent {
+  }
+}
@@ -0,0 +1,138 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.Album;
+import com.github.felixgail.gplaymusic.model.Artist;
+import com.github.felixgail.gplaymusic.model.Track;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class BatchFetchTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings().setLatencyMillis(100));
+  // the fetch caches are part of what is tested, so every test starts with empty ones
+  private GPlayMusic api;
+
+  @Before
+  public void createApi() {
+    api = fake.newApi();
+  }
+
+  @After
+  public void closeApi() {
+    api.close();
+  }
+
+  private static List<String> ids(char prefix, int from, int to) {
+    List<String> ids = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      ids.add(String.format("%c%026d", prefix, i));
+    }
+    return ids;
+  }
+
+  @Test
+  public void testTracksDeduplicatedConcurrentAndCached() throws IOException {
+    List<String> ids = ids('T', 0, 8);
+    List<String> requested = new ArrayList<>(ids);
+    requested.addAll(ids);
+    int requests = fake.getServer().getRequestCount();
+    fake.getServer().resetPeakInFlight();
+    Map<String, Track> tracks = api.fetchTracks(requested);
+    int peak = fake.getServer().getPeakInFlight();
+    Assert.assertEquals(ids, new ArrayList<>(tracks.keySet()));
+    Assert.assertEquals(8, fake.getServer().getRequestCount() - requests);
+    Assert.assertTrue("fetches were not run concurrently: " + peak, peak > 1);
+    Assert.assertTrue("too many concurrent fetches: " + peak, peak <= GPlayMusic.DEFAULT_FETCH_PARALLELISM);
+    tracks.forEach((id, track) -> Assert.assertEquals(id, track.getStoreId().orElse(null)));
+
+    requests = fake.getServer().getRequestCount();
+    Assert.assertEquals(tracks, api.fetchTracks(ids));
+    Assert.assertEquals(0, fake.getServer().getRequestCount() - requests);
+  }
+
+  @Test
+  public void testAlbumsOnlyReuseCachedTracks() throws IOException {
+    List<String> ids = ids('B', 0, 3);
+    Map<String, Album> albums = api.fetchAlbums(ids, false);
+    Assert.assertEquals(ids, new ArrayList<>(albums.keySet()));
+    Assert.assertFalse(albums.values().stream().anyMatch(album -> album.getTracks().isPresent()));
+
+    int requests = fake.getServer().getRequestCount();
+    Map<String, Album> withTracks = api.fetchAlbums(ids, true);
+    Assert.assertEquals(3, fake.getServer().getRequestCount() - requests);
+    Assert.assertTrue(withTracks.values().stream().allMatch(album -> album.getTracks().isPresent()));
+
+    requests = fake.getServer().getRequestCount();
+    api.fetchAlbums(ids, false);
+    api.fetchAlbums(ids, true);
+    Assert.assertEquals(0, fake.getServer().getRequestCount() - requests);
+  }
+
+  @Test
+  public void testArtistsReuseCompleteEntries() throws IOException {
+    List<String> ids = ids('A', 0, 2);
+    Map<String, Artist> artists = api.fetchArtists(ids, true, 5, 0);
+    Assert.assertEquals(ids, new ArrayList<>(artists.keySet()));
+    Assert.assertTrue(artists.values().stream().allMatch(artist -> artist.getAlbums().isPresent()));
+
+    int requests = fake.getServer().getRequestCount();
+    Map<String, Artist> cached = api.fetchArtists(ids, false, 0, 0);
+    ids.forEach(id -> Assert.assertSame(artists.get(id), cached.get(id)));
+    api.fetchArtists(ids, true, 5, 0);
+    Assert.assertEquals(0, fake.getServer().getRequestCount() - requests);
+    api.fetchArtists(ids, true, 10, 0);
+    Assert.assertEquals(2, fake.getServer().getRequestCount() - requests);
+  }
+
+  @Test
+  public void testSingleFetchesKeepRicherCachedEntries() throws IOException {
+    List<String> albumIds = ids('B', 5, 7);
+    List<String> artistIds = ids('A', 5, 7);
+    api.fetchAlbums(albumIds, true);
+    api.fetchArtists(artistIds, true, 5, 0);
+    Assert.assertFalse(Album.getAlbum(api, albumIds.get(0), false).getTracks().isPresent());
+    Assert.assertFalse(Artist.getArtist(api, artistIds.get(0), false, 0, 0).getAlbums().isPresent());
+
+    int requests = fake.getServer().getRequestCount();
+    Assert.assertTrue(api.fetchAlbums(albumIds, true).get(albumIds.get(0)).getTracks().isPresent());
+    Assert.assertTrue(api.fetchArtists(artistIds, true, 5, 0).get(artistIds.get(0)).getAlbums().isPresent());
+    Assert.assertEquals(0, fake.getServer().getRequestCount() - requests);
+  }
+
+  @Test
+  public void testUnknownIdsAreSkipped() throws IOException {
+    List<String> ids = Arrays.asList(String.format("A%026d", 2), String.format("A%026d", Integer.MAX_VALUE));
+    Assert.assertEquals(ids.subList(0, 1), new ArrayList<>(api.fetchArtists(ids, false, 0, 0).keySet()));
+    Assert.assertTrue(api.fetchTracks(Collections.singletonList(String.format("T%026d", Integer.MAX_VALUE)))
+        .isEmpty());
+  }
+
+  @Test
+  public void testOtherErrorsAreThrown() throws IOException {
+    fake.getServer().getSettings().setErrorRate(1);
+    try {
+      api.fetchTracks(ids('T', 20, 23));
+      Assert.fail("expected a NetworkException");
+    } catch (NetworkException e) {
+      Assert.assertEquals(503, e.getCode());
+      Assert.assertEquals("Simulated backend error", e.getMessage());
+      Assert.assertEquals(2, e.getSuppressed().length);
+    } finally {
+      fake.getServer().getSettings().setErrorRate(0);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.Config;
+import com.github.felixgail.gplaymusic.model.Playlist;
+import com.github.felixgail.gplaymusic.model.PlaylistEntry;
+import com.github.felixgail.gplaymusic.model.Station;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.enums.StreamQuality;
+import com.github.felixgail.gplaymusic.model.enums.SubscriptionType;
+import com.github.felixgail.gplaymusic.util.language.Language;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.Locale;
+
+public class FakeGPlayServerTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings()
+      .setLibrarySize(250)
+      .setPageSize(100)
+      .setPlaylistCount(3)
+      .setEntriesPerPlaylist(20));
+
+  @Test
+  public void testConfig() {
+    Assert.assertEquals(SubscriptionType.ALL_ACCESS, fake.getApi().getConfig().getSubscription());
+  }
+
+  @Test
+  public void testConfigSnapshotKeepsLocale() throws IOException {
+    GPlayMusic german = fake.getServer().newApiBuilder().setLocale(Locale.GERMANY).build();
+    Config snapshot = german.getConfig();
+    german.close();
+    GPlayMusic restored = fake.getServer().newApiBuilder().setConfig(snapshot).build();
+    GPlayMusic overridden = fake.getServer().newApiBuilder().setConfig(snapshot).setLocale(Locale.UK).build();
+    try {
+      Assert.assertEquals(Locale.GERMANY, restored.getConfig().getLocale());
+      Assert.assertEquals(Locale.GERMANY, restored.refreshConfig().join().getLocale());
+      Assert.assertEquals(Locale.UK, overridden.getConfig().getLocale());
+      Assert.assertEquals(Locale.GERMANY, snapshot.getLocale());
+    } finally {
+      restored.close();
+      overridden.close();
+      Language.setLocale(GPlayMusic.Builder.DEFAULT_LOCALE);
+    }
+  }
+
+  @Test
+  public void testPagedTrackFeed() throws IOException {
+    // every fourth library track is an upload, the cache only keeps those
+    Assert.assertEquals(62, fake.getApi().getTrackCache().getAll().size());
+  }
+
+  @Test
+  public void testSearch() throws IOException {
+    List<Track> tracks = fake.getApi().searchTracks("a", 15);
+    Assert.assertFalse(tracks.isEmpty());
+    Assert.assertTrue(tracks.size() <= 15);
+  }
+
+  @Test
+  public void testStreamUrl() throws IOException {
+    Track track = fake.getApi().searchTracks("a", 1).get(0);
+    URL url = track.getStreamURL(StreamQuality.HIGH);
+    Assert.assertTrue(url.getPath().startsWith("/stream/"));
+  }
+
+  @Test
+  public void testStationTracks() throws IOException {
+    Station station = fake.getApi().listStations().get(0);
+    Assert.assertEquals(25, station.getTracks(null, true, false).size());
+  }
+
+  @Test
+  public void testPlaylistMutations() throws IOException {
+    Playlist playlist = fake.getApi().listPlaylists().get(0);
+    List<Track> tracks = fake.getApi().searchTracks("a", 5);
+    List<PlaylistEntry> entries = playlist.addTracks(tracks);
+    Assert.assertEquals(tracks.size(), entries.size());
+    fake.getApi().getPlaylistEntryCache().update();
+    Assert.assertEquals(20 + tracks.size(), fake.getApi().getPlaylistEntryCache()
+        .getFiltered(entry -> entry.getPlaylistId().equals(playlist.getId())).size());
+  }
+}
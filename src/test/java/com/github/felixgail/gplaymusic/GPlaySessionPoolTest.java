@@ -0,0 +1,72 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.api.GPlaySessionPool;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import svarzee.gps.gpsoauth.AuthToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class GPlaySessionPoolTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule();
+  private final static AuthToken TOKEN = new AuthToken("fake-token");
+
+  private static GPlaySessionPool newPool(long idleTimeoutMillis) {
+    return new GPlaySessionPool(FakeGPlayServer.newHttpClientBuilder(), idleTimeoutMillis,
+        fake.getServer().getBaseUrl());
+  }
+
+  private static GPlayMusic session(GPlaySessionPool pool, String key) throws IOException {
+    return pool.getSession(key, TOKEN, Locale.US, FakeGPlayServer.ANDROID_ID);
+  }
+
+  @Test
+  public void testOnlyIdleSessionsAreEvicted() throws IOException, InterruptedException {
+    try (GPlaySessionPool pool = newPool(200)) {
+      GPlayMusic first = session(pool, "a");
+      Thread.sleep(250);
+      Assert.assertSame(first, session(pool, "a"));
+      pool.evictIdle();
+      Assert.assertEquals(1, pool.size());
+
+      Thread.sleep(250);
+      pool.evictIdle();
+      Assert.assertEquals(0, pool.size());
+      Assert.assertFalse(pool.getExistingSession("a").isPresent());
+      GPlayMusic second = session(pool, "a");
+      Assert.assertNotSame(first, second);
+      Assert.assertSame(second, pool.getExistingSession("a").get());
+    }
+  }
+
+  @Test
+  public void testLookupsDuringEviction() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (GPlaySessionPool pool = newPool(1)) {
+      List<Future<GPlayMusic>> futures = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        futures.add(executor.submit(() -> session(pool, "a")));
+        pool.evictIdle();
+      }
+      for (Future<GPlayMusic> future : futures) {
+        Assert.assertNotNull(future.get());
+      }
+      GPlayMusic last = session(pool, "a");
+      Assert.assertEquals(1, pool.size());
+      Assert.assertSame(last, pool.getExistingSession("a").get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
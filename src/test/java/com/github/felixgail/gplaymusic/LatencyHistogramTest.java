@@ -0,0 +1,54 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.util.metrics.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testEmpty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Assert.assertEquals(0, histogram.getCount());
+    Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 20; i++) {
+      histogram.record(i);
+    }
+    Assert.assertEquals(20, histogram.getCount());
+    Assert.assertEquals(10, histogram.getValueAtPercentile(50));
+    Assert.assertEquals(20, histogram.getValueAtPercentile(100));
+    Assert.assertEquals(10.5, histogram.getMean(), 0.0001);
+  }
+
+  @Test
+  public void testRelativeError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 100000; i++) {
+      histogram.record(i * 10);
+    }
+    assertWithin(500000, histogram.getValueAtPercentile(50));
+    assertWithin(990000, histogram.getValueAtPercentile(99));
+    Assert.assertEquals(1000000, histogram.getValueAtPercentile(100));
+    Assert.assertEquals(1000000, histogram.getMax());
+  }
+
+  @Test
+  public void testClampsOutOfRangeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+    Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+    Assert.assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMax());
+    histogram.reset();
+    Assert.assertEquals(0, histogram.getCount());
+  }
+
+  private static void assertWithin(long expected, long actual) {
+    Assert.assertTrue(expected + " != " + actual, Math.abs(expected - actual) <= expected / 32);
+  }
+}
@@ -0,0 +1,44 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.model.Album;
+import com.github.felixgail.gplaymusic.model.listennow.ListenNowAlbum;
+import com.github.felixgail.gplaymusic.model.listennow.ListenNowItem;
+import com.github.felixgail.gplaymusic.model.listennow.ListenNowStation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+public class ListenNowBindingTest {
+
+  @Test
+  public void testItemsUseTheirApi() throws IOException {
+    try (FakeGPlayServer server = new FakeGPlayServer(new FakeGPlayServer.Settings());
+         FakeGPlayServer other = new FakeGPlayServer(new FakeGPlayServer.Settings())) {
+      server.start();
+      other.start();
+      GPlayMusic api = server.newApiBuilder().build();
+      List<ListenNowItem> items = api.listListenNowItems();
+      // the last built instance is the one the deprecated static calls would use
+      GPlayMusic otherApi = other.newApiBuilder().build();
+      try {
+        Assert.assertEquals(2, items.size());
+        items.forEach(item -> Assert.assertSame(api, item.getApi()));
+        Assert.assertTrue(items.get(1) instanceof ListenNowStation);
+
+        int requests = server.getRequestCount();
+        int otherRequests = other.getRequestCount();
+        Album album = ((ListenNowAlbum) items.get(0)).getAlbum(false);
+        Assert.assertEquals(((ListenNowAlbum) items.get(0)).getId().getMetajamCompactKey(), album.getAlbumId());
+        Assert.assertEquals(1, server.getRequestCount() - requests);
+        Assert.assertEquals(otherRequests, other.getRequestCount());
+      } finally {
+        otherApi.close();
+        api.close();
+      }
+    }
+  }
+}
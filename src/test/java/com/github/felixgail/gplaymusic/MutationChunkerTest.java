@@ -0,0 +1,67 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.MutationResponse;
+import com.github.felixgail.gplaymusic.model.PlaylistEntry;
+import com.github.felixgail.gplaymusic.model.requests.mutations.MutationChunker;
+import com.github.felixgail.gplaymusic.model.requests.mutations.MutationFactory;
+import com.github.felixgail.gplaymusic.model.requests.mutations.Mutator;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class MutationChunkerTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings().setLatencyMillis(100));
+  private static ExecutorService executor;
+
+  @BeforeClass
+  public static void startExecutor() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterClass
+  public static void stopExecutor() {
+    executor.shutdownNow();
+  }
+
+  private static MutationResponse execute(Mutator mutator) {
+    fake.getServer().resetPeakInFlight();
+    return new MutationChunker(fake.getApi().getService(), PlaylistEntry.BATCH_URL, executor, 1).execute(mutator);
+  }
+
+  @Test
+  public void testDeletesRunBeforeLaterPositionalChunks() throws IOException {
+    List<PlaylistEntry> entries = fake.getApi().listPlaylists().get(0).getContents(-1);
+    Mutator mutator = new Mutator();
+    for (PlaylistEntry entry : entries.subList(0, 3)) {
+      mutator.addMutation(MutationFactory.getDeletePlaylistEntryMutation(entry));
+    }
+    mutator.addMutation(MutationFactory.getReorderPlaylistEntryMutation(entries.get(5), entries.get(3),
+        entries.get(4)));
+    MutationResponse response = execute(mutator);
+    Assert.assertTrue(response.getFailedItems().isEmpty());
+    Assert.assertEquals(4, response.getItems().size());
+    Assert.assertEquals(1, fake.getServer().getPeakInFlight());
+  }
+
+  @Test
+  public void testIndependentDeletesRunConcurrently() throws IOException {
+    List<PlaylistEntry> entries = fake.getApi().listPlaylists().get(1).getContents(-1);
+    Mutator mutator = new Mutator();
+    for (PlaylistEntry entry : entries.subList(0, 4)) {
+      mutator.addMutation(MutationFactory.getDeletePlaylistEntryMutation(entry));
+    }
+    MutationResponse response = execute(mutator);
+    Assert.assertTrue(response.getFailedItems().isEmpty());
+    Assert.assertTrue(fake.getServer().getPeakInFlight() > 1);
+  }
+}
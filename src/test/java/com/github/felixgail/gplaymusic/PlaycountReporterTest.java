@@ -0,0 +1,105 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.PlaycountReporter;
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crashes are simulated by dropping a reporter without closing it and shutting down its executor.
+ */
+public class PlaycountReporterTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings());
+  private final List<ScheduledExecutorService> executors = new ArrayList<>();
+  private Path storage;
+
+  @Before
+  public void createStorage() throws IOException {
+    storage = Files.createTempDirectory("playcounts").resolve("pending.json");
+  }
+
+  @After
+  public void cleanUp() throws IOException {
+    fake.getServer().getSettings().setErrorRate(0);
+    executors.forEach(ScheduledExecutorService::shutdownNow);
+    Files.deleteIfExists(storage);
+    Files.deleteIfExists(storage.getParent());
+  }
+
+  private PlaycountReporter start() throws IOException {
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    executors.add(executor);
+    return new PlaycountReporter(fake.getApi().getService(), executor, storage, 100, TimeUnit.HOURS.toMillis(1));
+  }
+
+  private void awaitExecutor(int index) throws InterruptedException, ExecutionException {
+    executors.get(index).submit(() -> {
+    }).get();
+  }
+
+  @Test
+  public void testIncrementsSurviveCrashBeforeFlush() throws Exception {
+    PlaycountReporter reporter = start();
+    reporter.increment("T1", 1, 1000);
+    reporter.increment("T2", 2, 2000);
+    awaitExecutor(0);
+    Assert.assertTrue(Files.exists(storage));
+
+    PlaycountReporter restarted = start();
+    Assert.assertEquals(2, restarted.getPendingCount());
+  }
+
+  @Test
+  public void testFlushRemovesReportedIncrements() throws Exception {
+    PlaycountReporter reporter = start();
+    reporter.increment("T1", 1, 1000);
+    awaitExecutor(0);
+    int requests = fake.getServer().getRequestCount();
+    reporter.flush();
+    Assert.assertEquals(1, fake.getServer().getRequestCount() - requests);
+    Assert.assertFalse(Files.exists(storage));
+
+    PlaycountReporter restarted = start();
+    Assert.assertEquals(0, restarted.getPendingCount());
+  }
+
+  @Test
+  public void testFailedFlushKeepsIncrementsUntilReported() throws Exception {
+    PlaycountReporter reporter = start();
+    reporter.increment("T1", 1, 1000);
+    reporter.increment("T2", 1, 1000);
+    fake.getServer().getSettings().setErrorRate(1);
+    try {
+      reporter.flush();
+      Assert.fail("expected a NetworkException");
+    } catch (NetworkException e) {
+      Assert.assertEquals(503, e.getCode());
+    }
+    Assert.assertEquals(2, reporter.getPendingCount());
+    Assert.assertTrue(Files.exists(storage));
+
+    PlaycountReporter restarted = start();
+    Assert.assertEquals(2, restarted.getPendingCount());
+    fake.getServer().getSettings().setErrorRate(0);
+    restarted.increment("T3", 1, 2000);
+    restarted.close();
+    Assert.assertEquals(0, restarted.getPendingCount());
+    Assert.assertFalse(Files.exists(storage));
+  }
+}
@@ -0,0 +1,69 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.Playlist;
+import com.github.felixgail.gplaymusic.model.PlaylistEntry;
+import com.github.felixgail.gplaymusic.model.Track;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class PlaylistSyncTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings().setEntriesPerPlaylist(6));
+
+  private static List<Track> tracks(List<String> ids) throws IOException {
+    Map<String, Track> tracks = fake.getApi().fetchTracks(ids);
+    return ids.stream().map(tracks::get).collect(Collectors.toList());
+  }
+
+  private static List<String> trackIDs(List<PlaylistEntry> entries) {
+    return entries.stream().map(PlaylistEntry::getTrackId).collect(Collectors.toList());
+  }
+
+  private static void assertServerOrder(Playlist playlist, List<String> expected) throws IOException {
+    List<PlaylistEntry> entries = playlist.getContents(-1);
+    Assert.assertEquals(expected, trackIDs(entries));
+    for (int i = 1; i < entries.size(); i++) {
+      Assert.assertTrue(entries.get(i - 1).getAbsolutePosition().compareTo(entries.get(i).getAbsolutePosition()) < 0);
+    }
+    fake.getApi().getPlaylistEntryCache().update();
+    Assert.assertEquals(expected, trackIDs(playlist.getContents(-1)));
+  }
+
+  @Test
+  public void testSyncDeletesMovesAndCreates() throws IOException {
+    Playlist playlist = fake.getApi().listPlaylists().get(0);
+    List<String> current = trackIDs(playlist.getContents(-1));
+    List<String> desired = Arrays.asList(current.get(3), current.get(0), String.format("T%026d", 500),
+        current.get(1));
+    List<PlaylistEntry> result = playlist.syncTo(tracks(desired));
+    Assert.assertEquals(desired, trackIDs(result));
+    Assert.assertTrue(result.stream().allMatch(entry -> entry.getAbsolutePosition() != null));
+    assertServerOrder(playlist, desired);
+  }
+
+  @Test
+  public void testSyncAfterAddingTracks() throws IOException {
+    Playlist playlist = fake.getApi().listPlaylists().get(1);
+    List<String> current = new ArrayList<>(trackIDs(playlist.getContents(-1)));
+    List<String> added = Arrays.asList(String.format("T%026d", 600), String.format("T%026d", 601));
+    List<PlaylistEntry> addedEntries = playlist.addTracks(tracks(added));
+    Assert.assertTrue(addedEntries.stream().allMatch(entry -> entry.getAbsolutePosition() == null));
+    current.addAll(added);
+    Assert.assertEquals(current, trackIDs(playlist.getContents(-1)));
+
+    Collections.reverse(current);
+    Assert.assertEquals(current, trackIDs(playlist.syncTo(tracks(current))));
+    assertServerOrder(playlist, current);
+  }
+}
@@ -0,0 +1,45 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.util.RecentlyPlayedHistory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class RecentlyPlayedHistoryTest {
+
+  @Test
+  public void testEviction() {
+    RecentlyPlayedHistory history = new RecentlyPlayedHistory(3);
+    history.add("T1");
+    history.add("T2");
+    history.add("T3");
+    history.add("T4");
+    Assert.assertEquals(3, history.size());
+    Assert.assertFalse("Oldest ID should have been evicted", history.contains("T1"));
+    Assert.assertTrue(history.contains("T4"));
+    Assert.assertEquals(Arrays.asList("T2", "T3", "T4"), history.getIDs());
+  }
+
+  @Test
+  public void testDuplicateIDs() {
+    RecentlyPlayedHistory history = new RecentlyPlayedHistory(2);
+    history.add("T1");
+    history.add("T1");
+    history.add("T2");
+    Assert.assertTrue("ID still present once in the buffer", history.contains("T1"));
+    history.add("T3");
+    Assert.assertFalse(history.contains("T1"));
+    Assert.assertEquals(Arrays.asList("T2", "T3"), history.getIDs());
+  }
+
+  @Test
+  public void testClear() {
+    RecentlyPlayedHistory history = new RecentlyPlayedHistory(2);
+    history.add("T1");
+    history.clear();
+    Assert.assertEquals(0, history.size());
+    Assert.assertFalse(history.contains("T1"));
+    Assert.assertTrue(history.getIDs().isEmpty());
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.util.ReorderPlanner;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class ReorderPlannerTest {
+
+  @Test
+  public void testUnchangedOrder() {
+    List<String> order = Arrays.asList("a", "b", "c");
+    Assert.assertTrue(ReorderPlanner.plan(order, order).isEmpty());
+  }
+
+  @Test
+  public void testSingleMove() {
+    List<String> current = Arrays.asList("a", "b", "c", "d", "e");
+    List<String> target = Arrays.asList("b", "c", "d", "e", "a");
+    List<ReorderPlanner.Move<String>> moves = ReorderPlanner.plan(current, target);
+    Assert.assertEquals(1, moves.size());
+    Assert.assertEquals("a", moves.get(0).getItem());
+    Assert.assertEquals("e", moves.get(0).getPreceding());
+    Assert.assertNull(moves.get(0).getFollowing());
+    Assert.assertEquals(target, apply(current, moves));
+  }
+
+  @Test
+  public void testRandomOrders() {
+    Random random = new Random(42);
+    for (int run = 0; run < 50; run++) {
+      List<Integer> current = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        current.add(i);
+      }
+      List<Integer> target = new ArrayList<>(current);
+      Collections.shuffle(target, random);
+      Assert.assertEquals(target, apply(current, ReorderPlanner.plan(current, target)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchingItems() {
+    ReorderPlanner.plan(Arrays.asList("a", "b"), Arrays.asList("a", "c"));
+  }
+
+  /**
+   * Applies the moves the way the server does: only the neighbours of each move are known.
+   */
+  private static <T> List<T> apply(List<T> current, List<ReorderPlanner.Move<T>> moves) {
+    List<T> list = new ArrayList<>(current);
+    for (ReorderPlanner.Move<T> move : moves) {
+      list.remove(move.getItem());
+      int index;
+      if (move.getPreceding() != null) {
+        index = list.indexOf(move.getPreceding()) + 1;
+        if (move.getFollowing() != null) {
+          Assert.assertEquals(list.indexOf(move.getFollowing()), index);
+        }
+      } else {
+        index = list.indexOf(move.getFollowing());
+      }
+      list.add(index, move.getItem());
+    }
+    return list;
+  }
+}
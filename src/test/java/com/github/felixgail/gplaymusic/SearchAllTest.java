@@ -0,0 +1,74 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.enums.ResultType;
+import com.github.felixgail.gplaymusic.model.requests.SearchTypes;
+import com.github.felixgail.gplaymusic.model.responses.QueryResult;
+import com.github.felixgail.gplaymusic.util.RateLimiter;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SearchAllTest {
+  private final static long LATENCY = 100;
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings()
+      .setLatencyMillis(LATENCY));
+
+  @Test
+  public void testParallelAndDeduplicated() {
+    List<String> queries = new ArrayList<>(FakeGPlayServer.getSearchTerms().subList(0, 8));
+    queries.addAll(queries);
+    int requests = fake.getServer().getRequestCount();
+    fake.getServer().resetPeakInFlight();
+    List<QueryResult> results = fake.getApi().searchAll(queries, new SearchTypes(ResultType.TRACK), 10, 4, null)
+        .collect(Collectors.toList());
+    Assert.assertEquals(8, results.size());
+    Assert.assertEquals(8, fake.getServer().getRequestCount() - requests);
+    Assert.assertEquals(new HashSet<>(queries),
+        results.stream().map(QueryResult::getQuery).collect(Collectors.toSet()));
+    Assert.assertTrue(results.stream().allMatch(QueryResult::isSuccess));
+    Assert.assertTrue("searches were not run concurrently", fake.getServer().getPeakInFlight() > 1);
+    Assert.assertTrue("parallelism was exceeded", fake.getServer().getPeakInFlight() <= 4);
+  }
+
+  @Test
+  public void testRateLimit() {
+    RateLimiter limiter = new RateLimiter(20, 1);
+    long start = System.nanoTime();
+    List<QueryResult> results = fake.getApi().searchAll(FakeGPlayServer.getSearchTerms().subList(0, 6),
+        new SearchTypes(ResultType.TRACK), 5, 6, limiter).collect(Collectors.toList());
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    Assert.assertEquals(6, results.size());
+    // 5 of the 6 searches have to wait 50ms each for a permit. Only a lower bound, slow machines only add time.
+    Assert.assertTrue("searches were not throttled: " + millis + "ms", millis >= 5 * 50 - 10);
+  }
+
+  @Test
+  public void testEarlyCloseDropsUnsentSearches() throws InterruptedException {
+    List<String> terms = FakeGPlayServer.getSearchTerms();
+    RateLimiter limiter = new RateLimiter(50, 1);
+    int requests = fake.getServer().getRequestCount();
+    Set<String> seen = new HashSet<>();
+    int parallelism = 2;
+    try (Stream<QueryResult> results = fake.getApi().searchAll(terms, new SearchTypes(ResultType.TRACK), 5, parallelism,
+        limiter)) {
+      results.limit(2).forEach(result -> seen.add(result.getQuery()));
+    }
+    Assert.assertEquals(2, seen.size());
+    Assert.assertTrue(terms.containsAll(seen));
+    // Without dropping, the workers would keep sending searches during these latency rounds.
+    Thread.sleep(5 * LATENCY);
+    int sent = fake.getServer().getRequestCount() - requests;
+    Assert.assertTrue("unsent searches were not dropped: " + sent + " of " + terms.size(),
+        sent <= seen.size() + parallelism);
+  }
+}
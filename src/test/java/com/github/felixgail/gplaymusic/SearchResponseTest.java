@@ -0,0 +1,53 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.enums.ResultType;
+import com.github.felixgail.gplaymusic.model.responses.Result;
+import com.github.felixgail.gplaymusic.model.responses.SearchResponse;
+import com.google.gson.Gson;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class SearchResponseTest {
+  private final static String RESPONSE = "{\"kind\":\"sj#searchresponse\",\"entries\":["
+      + "{\"type\":\"1\",\"score\":300.5,\"track\":{\"title\":\"First\",\"storeId\":\"T1\"}},"
+      + "{\"type\":\"2\",\"score\":200.0,\"artist\":{\"name\":\"Band\",\"artistId\":\"A1\"}},"
+      + "{\"type\":\"5\",\"unknown\":{}},"
+      + "{\"type\":\"1\",\"track\":{\"title\":\"Second\",\"storeId\":\"T2\"}},"
+      + "{\"type\":\"3\",\"score\":100.0,\"album\":{\"name\":\"Record\",\"albumId\":\"B1\"}}]}";
+
+  private final Gson gson = GPlayMusic.createGsonBuilder().create();
+
+  @Test
+  public void testBuckets() {
+    SearchResponse response = gson.fromJson(RESPONSE, SearchResponse.class);
+    Assert.assertEquals(4, response.getEntries().size());
+    Assert.assertEquals(Arrays.asList("First", "Second"),
+        response.getTracks().stream().map(Track::getTitle).collect(Collectors.toList()));
+    Assert.assertEquals("Band", response.getArtists().get(0).getName());
+    Assert.assertEquals("Record", response.getAlbums().get(0).getName());
+    Assert.assertTrue(response.getStations().isEmpty());
+    Assert.assertSame(response.getTracks(), response.getTracks());
+    Assert.assertEquals(response.getTracks(), response.getEntries(ResultType.TRACK));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testUnmodifiable() {
+    gson.fromJson(RESPONSE, SearchResponse.class).getTracks().clear();
+  }
+
+  @Test
+  public void testScores() {
+    SearchResponse response = gson.fromJson(RESPONSE, SearchResponse.class);
+    Assert.assertEquals(300.5, response.getScore(response.getTracks().get(0)).getAsDouble(), 0);
+    Assert.assertFalse(response.getScore(response.getTracks().get(1)).isPresent());
+    SearchResponse filtered = response.filter(entry -> entry.getResultType() != ResultType.TRACK);
+    Result artist = filtered.getEntries().get(0);
+    Assert.assertEquals(200.0, filtered.getScore(artist).getAsDouble(), 0);
+    Assert.assertTrue(filtered.getTracks().isEmpty());
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.SearchSession;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.model.enums.ResultType;
+import com.github.felixgail.gplaymusic.model.requests.SearchTypes;
+import com.github.felixgail.gplaymusic.model.responses.SearchResponse;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+public class SearchSessionTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings()
+      .setCatalogSize(300)
+      .setLatencyMillis(200));
+
+  private static SearchSession newSession() {
+    return new SearchSession(fake.getApi(), new SearchTypes(ResultType.TRACK), 1000).setDebounceMillis(50);
+  }
+
+  @Test
+  public void testDebounceAndCache() {
+    SearchSession session = newSession();
+    CompletableFuture<SearchResponse> first = session.update("m");
+    session.update("mi");
+    CompletableFuture<SearchResponse> last = session.update("mid");
+    Assert.assertFalse(last.join().getTracks().isEmpty());
+    Assert.assertTrue(first.isCancelled());
+    Assert.assertEquals(1, session.getRequestCount());
+    Assert.assertSame(last.join(), session.update(" MID ").join());
+    Assert.assertEquals(1, session.getRequestCount());
+  }
+
+  @Test(timeout = 10_000)
+  public void testCancelInFlight() throws InterruptedException {
+    SearchSession session = newSession();
+    int requests = fake.getServer().getRequestCount();
+    CompletableFuture<SearchResponse> stale = session.update("golden");
+    // Wait until the search reached the server, which holds it for the simulated latency.
+    while (fake.getServer().getRequestCount() == requests) {
+      Thread.sleep(5);
+    }
+    CompletableFuture<SearchResponse> current = session.update("glass");
+    Assert.assertFalse(current.join().getTracks().isEmpty());
+    Assert.assertTrue(stale.isCancelled());
+    Assert.assertEquals(2, session.getRequestCount());
+  }
+
+  @Test
+  public void testPrefixReuse() {
+    SearchSession session = newSession();
+    SearchResponse complete = session.update("lantern").join();
+    SearchResponse extended = session.update("lantern e").join();
+    Assert.assertEquals(1, session.getRequestCount());
+    Assert.assertTrue(extended.getTracks().size() <= complete.getTracks().size());
+    for (Track track : extended.getTracks()) {
+      String text = (track.getTitle() + " " + track.getArtist() + " " + track.getAlbum()).toLowerCase(Locale.ROOT);
+      Assert.assertTrue(text.contains("lantern") && text.matches("(?s).*\\be.*"));
+    }
+  }
+}
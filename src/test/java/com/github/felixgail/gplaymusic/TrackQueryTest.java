@@ -0,0 +1,79 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.cache.LibraryTrackCache;
+import com.github.felixgail.gplaymusic.cache.TrackQuery;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.Track;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TrackQueryTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings()
+      .setLibrarySize(4000)
+      .setCatalogSize(400));
+  private LibraryTrackCache cache;
+
+  @Before
+  public void getCache() {
+    cache = fake.getApi().getTrackCache();
+  }
+
+  @Test
+  public void testIndexMatchesScan() throws IOException {
+    Track sample = cache.getAll().get(0);
+    String artist = sample.getArtistId().get().get(0);
+    int year = sample.getYear().getAsInt();
+    List<Track> expected = cache.getFiltered(track -> track.getArtistId().get().contains(artist)
+        && track.getYear().getAsInt() == year);
+    TrackQuery query = cache.query().artist(artist).year(year);
+    Assert.assertEquals(expected, query.list());
+    Assert.assertTrue(query.explain().startsWith("index"));
+    Assert.assertTrue(cache.query().explain().startsWith("scan"));
+  }
+
+  @Test
+  public void testSortedAlbum() throws IOException {
+    Track sample = cache.getAll().get(1);
+    List<Track> expected = cache.getFiltered(track -> sample.getAlbumId().equals(track.getAlbumId()));
+    expected.sort(TrackQuery.Order.DISC_AND_TRACK.getComparator());
+    Assert.assertEquals(expected, cache.query().album(sample.getAlbumId())
+        .orderBy(TrackQuery.Order.DISC_AND_TRACK).list());
+  }
+
+  @Test
+  public void testGenreByPlayCount() throws IOException {
+    List<Track> result = cache.query().genre("indie rock").orderBy(TrackQuery.Order.PLAY_COUNT).limit(10).list();
+    Assert.assertEquals(10, result.size());
+    List<Integer> counts = result.stream().map(track -> track.getPlayCount().getAsInt()).collect(Collectors.toList());
+    for (int i = 1; i < counts.size(); i++) {
+      Assert.assertTrue(counts.get(i - 1) >= counts.get(i));
+    }
+    Assert.assertEquals(0, cache.query().genre("unknown").count());
+  }
+
+  @Test
+  public void testIncrementalUpdates() throws IOException {
+    // modifies the cache, so it must not use the one shared by the other tests
+    try (GPlayMusic api = fake.newApi()) {
+      LibraryTrackCache ownCache = api.getTrackCache();
+      Track sample = ownCache.getAll().get(2);
+      TrackQuery query = ownCache.query().album(sample.getAlbumId()).orderBy(TrackQuery.Order.DISC_AND_TRACK);
+      long before = query.count();
+      ownCache.remove(sample);
+      Assert.assertEquals(before - 1, query.count());
+      Assert.assertFalse(query.list().contains(sample));
+      ownCache.add(sample);
+      Assert.assertEquals(before, query.count());
+      Assert.assertTrue(ownCache.find(sample.getID()).isPresent());
+    }
+  }
+}
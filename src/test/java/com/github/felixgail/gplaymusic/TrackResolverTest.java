@@ -0,0 +1,82 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.exceptions.NetworkException;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.Track;
+import com.github.felixgail.gplaymusic.util.RateLimiter;
+import com.github.felixgail.gplaymusic.util.TrackResolver;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public class TrackResolverTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings()
+      .setLibrarySize(400)
+      .setCatalogSize(2000));
+
+  @Test
+  public void testLocalMatches() throws IOException {
+    Track library = fake.getApi().getTrackCache().getAll().get(0);
+    Track catalog = fake.getApi().searchTracks("midnight", 5).get(0);
+    int requests = fake.getServer().getRequestCount();
+    String typo = library.getArtist() + " - " + library.getTitle().toLowerCase(Locale.ROOT).replaceFirst("e", "");
+    List<TrackResolver.Match> matches = new TrackResolver(fake.getApi())
+        .resolve(Arrays.asList(typo, catalog.getArtist() + " – " + catalog.getTitle()));
+    Assert.assertEquals(requests, fake.getServer().getRequestCount());
+    Assert.assertEquals(TrackResolver.Source.LIBRARY, matches.get(0).getSource());
+    Assert.assertEquals(library.getTitle(), matches.get(0).getTrack().get().getTitle());
+    Assert.assertEquals(TrackResolver.Source.CATALOG, matches.get(1).getSource());
+    Assert.assertEquals(1.0, matches.get(1).getScore(), 0.0001);
+  }
+
+  @Test
+  public void testSearchFallback() throws IOException {
+    List<TrackResolver.Match> matches;
+    try (FakeGPlayServer empty = new FakeGPlayServer(new FakeGPlayServer.Settings().setLibrarySize(0))) {
+      empty.start();
+      GPlayMusic emptyApi = empty.newApiBuilder().build();
+      matches = new TrackResolver(emptyApi).resolve(Arrays.asList("golden ember", "qqqq xxxx"));
+      emptyApi.close();
+    }
+    Assert.assertEquals(TrackResolver.Source.SEARCH, matches.get(0).getSource());
+    Assert.assertTrue(matches.get(0).getTrack().isPresent());
+    Assert.assertFalse(matches.get(1).getTrack().isPresent());
+    Assert.assertEquals(TrackResolver.Source.NONE, matches.get(1).getSource());
+  }
+
+  @Test
+  public void testFailedSearchesAreReportedPerMatch() throws IOException {
+    List<TrackResolver.Match> matches;
+    try (FakeGPlayServer failing = new FakeGPlayServer(new FakeGPlayServer.Settings().setLibrarySize(0))) {
+      failing.start();
+      GPlayMusic failingApi = failing.newApiBuilder().build();
+      failingApi.getTrackCache().getAll();
+      failing.getSettings().setErrorRate(1);
+      matches = new TrackResolver(failingApi).resolve(Arrays.asList("golden ember", "qqqq xxxx"));
+      failingApi.close();
+    }
+    for (TrackResolver.Match match : matches) {
+      Assert.assertEquals(TrackResolver.Source.NONE, match.getSource());
+      Assert.assertTrue(match.getException().get() instanceof NetworkException);
+    }
+  }
+
+  @Test
+  public void testRateLimiter() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter(20, 2);
+    Assert.assertTrue(limiter.tryAcquire());
+    Assert.assertTrue(limiter.tryAcquire());
+    Assert.assertFalse(limiter.tryAcquire());
+    long start = System.nanoTime();
+    limiter.acquire();
+    Assert.assertTrue(System.nanoTime() - start >= 30_000_000L);
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.github.felixgail.gplaymusic.cache.LibraryTrackCache;
+import com.github.felixgail.gplaymusic.fake.FakeGPlayServer;
+import com.github.felixgail.gplaymusic.fake.FakeServerRule;
+import com.github.felixgail.gplaymusic.model.Track;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+public class TrackSearchIndexTest {
+  @ClassRule
+  public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings().setLibrarySize(2000));
+  private LibraryTrackCache cache;
+
+  @Before
+  public void getCache() {
+    cache = fake.getApi().getTrackCache();
+  }
+
+  @Test
+  public void testAllTokensMatch() throws IOException {
+    Track sample = cache.getAll().get(0);
+    String title = sample.getTitle().toLowerCase(Locale.ROOT);
+    List<Track> result = cache.search(title, 100);
+    Assert.assertTrue(result.contains(sample));
+    String[] words = title.split(" ");
+    for (Track track : result) {
+      String text = (track.getTitle() + " " + track.getArtist() + " " + track.getAlbum() + " "
+          + track.getAlbumArtist() + " " + track.getComposer()).toLowerCase(Locale.ROOT);
+      for (String word : words) {
+        Assert.assertTrue(text.contains(word));
+      }
+    }
+  }
+
+  @Test
+  public void testPrefixAndRanking() throws IOException {
+    Track sample = cache.getAll().get(3);
+    String title = sample.getTitle();
+    List<Track> exact = cache.search(title, 5);
+    Assert.assertEquals(title, exact.get(0).getTitle());
+    List<Track> typeahead = cache.search(title.substring(0, title.length() - 2).toUpperCase(Locale.ROOT), 2000);
+    Assert.assertTrue(typeahead.contains(sample));
+    Assert.assertTrue(cache.search("zzzz", 10).isEmpty());
+    Assert.assertTrue(cache.search(" ,. ", 10).isEmpty());
+  }
+
+  @Test
+  public void testIndexFollowsCache() throws IOException {
+    // modifies the cache, so it must not use the one shared by the other tests
+    try (GPlayMusic api = fake.newApi()) {
+      LibraryTrackCache ownCache = api.getTrackCache();
+      Track sample = ownCache.getAll().get(5);
+      ownCache.remove(sample);
+      Assert.assertFalse(ownCache.search(sample.getTitle(), 2000).contains(sample));
+      ownCache.add(sample);
+      Assert.assertTrue(ownCache.search(sample.getTitle(), 2000).contains(sample));
+    }
+  }
+}
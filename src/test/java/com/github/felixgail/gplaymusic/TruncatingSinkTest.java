@@ -0,0 +1,41 @@
+package com.github.felixgail.gplaymusic;
+
+import com.github.felixgail.gplaymusic.util.TruncatingSink;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class TruncatingSinkTest {
+  private final static MediaType TEXT = MediaType.parse("text/plain");
+
+  @Test
+  public void testLargeBodyIsCut() throws IOException {
+    RequestBody body = new RequestBody() {
+      @Override
+      public MediaType contentType() {
+        return TEXT;
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        for (int i = 0; i < 100_000; i++) {
+          sink.writeUtf8("0123456789");
+        }
+      }
+    };
+    TruncatingSink sink = TruncatingSink.capture(body, 15);
+    Assert.assertTrue(sink.isTruncated());
+    Assert.assertEquals("012345678901234", sink.getBuffer().readUtf8());
+  }
+
+  @Test
+  public void testSmallBodyIsKept() throws IOException {
+    TruncatingSink sink = TruncatingSink.capture(RequestBody.create(TEXT, "short"), 5);
+    Assert.assertFalse(sink.isTruncated());
+    Assert.assertEquals("short", sink.getBuffer().readUtf8());
+  }
+}
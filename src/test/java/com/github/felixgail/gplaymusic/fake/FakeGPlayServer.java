@@ -0,0 +1,543 @@
+package com.github.felixgail.gplaymusic.fake;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import okhttp3.ConnectionSpec;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import svarzee.gps.gpsoauth.AuthToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local stand-in for the Google Play Music service, built on {@link MockWebServer}.
+ * <br>
+ * Serves {@code config}, {@code devicemanagementinfo}, the paged feeds ({@code trackfeed}, {@code playlistfeed},
+ * {@code plentryfeed}, {@code radio/station}), {@code radio/stationfeed}, {@code fetchtrack}, {@code fetchalbum},
+ * {@code fetchartist}, {@code query}, {@code listennow/getlistennowitems}, all {@code *batch} mutation calls and {@code trackstats}.
+ * Stream urls ({@code music/{provider}}) redirect to {@code stream/{id}}, which serves
+ * {@link Settings#setStreamBytes(int)} bytes.
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * try (FakeGPlayServer server = new FakeGPlayServer(new FakeGPlayServer.Settings().setLibrarySize(5000))) {
+ *   server.start();
+ *   GPlayMusic api = server.newApiBuilder().build();
+ *   ...
+ * }
+ * }</pre>
+ */
+public class FakeGPlayServer implements Closeable {
+  public final static String ANDROID_ID = "3a4b5c6d7e8f9a0b";
+  private final static String API_ROOT = "sj/v2.5/";
+  private final static Gson gson = new Gson();
+  // MockWebServer logs every request on INFO, which would dominate load tests
+  private final static Logger serverLogger = Logger.getLogger(MockWebServer.class.getName());
+
+  static {
+    serverLogger.setLevel(Level.WARNING);
+  }
+
+  private final Settings settings;
+  private final FakeLibrary library;
+  private final MockWebServer server = new MockWebServer();
+  private final AtomicLong stationCalls = new AtomicLong();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger peakInFlight = new AtomicInteger();
+  private final byte[] streamBody;
+
+  public FakeGPlayServer(Settings settings) {
+    this.settings = settings;
+    this.library = new FakeLibrary(settings);
+    this.streamBody = new byte[settings.getStreamBytes()];
+    for (int i = 0; i < streamBody.length; i++) {
+      streamBody[i] = (byte) i;
+    }
+    server.setDispatcher(new FakeDispatcher());
+  }
+
+  public void start() throws IOException {
+    server.start();
+  }
+
+  /**
+   * @return the root url to pass to {@link GPlayMusic.Builder#setBaseUrl(String)}.
+   */
+  public String getBaseUrl() {
+    return server.url("/").toString();
+  }
+
+  /**
+   * @return a client builder allowing the plain http connections used by this server.
+   */
+  public static OkHttpClient.Builder newHttpClientBuilder() {
+    return new OkHttpClient.Builder()
+        .connectionSpecs(Collections.singletonList(ConnectionSpec.CLEARTEXT));
+  }
+
+  /**
+   * @return a builder preconfigured with a token, android id, http client and the url of this server.
+   */
+  public GPlayMusic.Builder newApiBuilder() {
+    return new GPlayMusic.Builder()
+        .setAuthToken(new AuthToken("fake-token"))
+        .setAndroidID(ANDROID_ID)
+        .setHttpClientBuilder(newHttpClientBuilder())
+        .setBaseUrl(getBaseUrl());
+  }
+
+  /**
+   * @return words catalog titles, albums and artists are made of. Useful as search queries that have results.
+   */
+  public static List<String> getSearchTerms() {
+    return Collections.unmodifiableList(Arrays.asList(FakeLibrary.WORDS));
+  }
+
+  public int getRequestCount() {
+    return server.getRequestCount();
+  }
+
+  /**
+   * @return the highest amount of requests handled at the same time since start or the last
+   * {@link #resetPeakInFlight()}. Includes the simulated latency.
+   */
+  public int getPeakInFlight() {
+    return peakInFlight.get();
+  }
+
+  public void resetPeakInFlight() {
+    peakInFlight.set(inFlight.get());
+  }
+
+  public Settings getSettings() {
+    return settings;
+  }
+
+  @Override
+  public void close() throws IOException {
+    server.shutdown();
+  }
+
+  private class FakeDispatcher extends Dispatcher {
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+      peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        return handle(request);
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+
+    private MockResponse handle(RecordedRequest request) throws InterruptedException {
+      simulateLatency();
+      HttpUrl url = request.getRequestUrl();
+      String path = url.encodedPath().substring(1);
+      if (settings.getErrorRate() > 0 && !path.startsWith("stream/")
+          && ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+        return error(503, "Simulated backend error");
+      }
+      try {
+        if (path.startsWith("music/")) {
+          String id = url.queryParameter("mjck") != null ? url.queryParameter("mjck") : url.queryParameter("songid");
+          return new MockResponse().setResponseCode(302)
+              .setHeader("Location", getBaseUrl() + "stream/" + id);
+        }
+        if (path.startsWith("stream/")) {
+          return new MockResponse().setHeader("Content-Type", "audio/mpeg")
+              .setBody(new Buffer().write(streamBody));
+        }
+        if (!path.startsWith(API_ROOT)) {
+          return error(404, "Not found");
+        }
+        String endpoint = path.substring(API_ROOT.length());
+        JsonObject body = parseBody(request);
+        switch (endpoint) {
+          case "config":
+            return json(config());
+          case "devicemanagementinfo":
+            return json(devices());
+          case "trackfeed":
+            return json(page(library.getLibraryTracks(), body));
+          case "playlistfeed":
+            return json(page(library.getPlaylists(), body));
+          case "plentryfeed":
+            return json(page(library.getEntries(), body));
+          case "radio/station":
+            return json(page(library.getStations(), body));
+          case "radio/stationfeed":
+            return json(stationFeed(body));
+          case "fetchtrack":
+            return fetchTrack(url.queryParameter("nid"));
+          case "fetchalbum":
+            return fetchAlbum(url.queryParameter("nid"), "true".equals(url.queryParameter("include-tracks")));
+          case "fetchartist":
+            return fetchArtist(url);
+          case "query":
+            return json(search(url));
+          case "listennow/getlistennowitems":
+            return json(library.listenNowItems());
+          case "trackstats":
+            return json(trackStats(body));
+          default:
+            if (endpoint.endsWith("batch")) {
+              return json(batch(endpoint, body));
+            }
+            return error(404, "Not found");
+        }
+      } catch (RuntimeException e) {
+        return error(400, String.valueOf(e.getMessage()));
+      }
+    }
+  }
+
+  private void simulateLatency() throws InterruptedException {
+    long latency = settings.getLatencyMillis();
+    if (settings.getLatencyJitterMillis() > 0) {
+      latency += ThreadLocalRandom.current().nextLong(settings.getLatencyJitterMillis() + 1);
+    }
+    if (latency > 0) {
+      Thread.sleep(latency);
+    }
+  }
+
+  private JsonObject config() {
+    JsonArray entries = new JsonArray();
+    entries.add(keyValue("isNautilusUser", "true"));
+    entries.add(keyValue("isTrAvailable", "true"));
+    entries.add(keyValue("isPodcastsEnabled", "false"));
+    JsonObject data = new JsonObject();
+    data.add("entries", entries);
+    JsonObject config = new JsonObject();
+    config.addProperty("kind", "sj#configList");
+    config.add("data", data);
+    return config;
+  }
+
+  private JsonObject devices() {
+    JsonObject device = new JsonObject();
+    device.addProperty("kind", "sj#deviceManagementInfo");
+    device.addProperty("id", "0x" + ANDROID_ID);
+    device.addProperty("friendlyName", "Fake Phone");
+    device.addProperty("type", "ANDROID");
+    device.addProperty("lastAccessedTimeMs", "1500000000000");
+    return wrapItems(Collections.singletonList(device), null);
+  }
+
+  private JsonObject page(List<JsonObject> items, JsonObject request) {
+    int start = 0;
+    int size = settings.getPageSize();
+    if (request != null) {
+      if (request.has("start-token") && !request.get("start-token").isJsonNull()) {
+        start = Integer.parseInt(request.get("start-token").getAsString());
+      }
+      if (request.has("max-results") && !request.get("max-results").isJsonNull()) {
+        size = Math.min(size, Integer.parseInt(request.get("max-results").getAsString()));
+      }
+    }
+    int end = Math.min(items.size(), start + size);
+    String next = end < items.size() ? String.valueOf(end) : null;
+    return wrapItems(items.subList(Math.min(start, end), end), next);
+  }
+
+  private JsonObject stationFeed(JsonObject request) {
+    JsonArray stations = new JsonArray();
+    for (JsonElement element : request.getAsJsonArray("stations")) {
+      JsonObject stationRequest = element.getAsJsonObject();
+      JsonObject station = library.getStation(stationRequest.get("radioId").getAsString());
+      if (station == null) {
+        continue;
+      }
+      JsonObject filled = copy(station);
+      JsonArray tracks = new JsonArray();
+      int count = stationRequest.has("numEntries") ? stationRequest.get("numEntries").getAsInt() : 25;
+      library.stationTracks(station, count, stationCalls.incrementAndGet()).forEach(tracks::add);
+      filled.add("tracks", tracks);
+      filled.addProperty("sessionToken", "fake-session-" + stationCalls.get());
+      stations.add(filled);
+    }
+    JsonObject data = new JsonObject();
+    data.add("stations", stations);
+    JsonObject response = new JsonObject();
+    response.addProperty("kind", "sj#radioFeed");
+    response.add("data", data);
+    return response;
+  }
+
+  private MockResponse fetchTrack(String id) {
+    int index = library.catalogIndex(id);
+    return index < 0 ? error(404, "No track with id " + id) : json(library.catalogTrack(index));
+  }
+
+  private MockResponse fetchAlbum(String id, boolean includeTracks) {
+    int index = library.albumIndex(id);
+    return index < 0 ? error(404, "No album with id " + id) : json(library.album(index, includeTracks));
+  }
+
+  private MockResponse fetchArtist(HttpUrl url) {
+    int index = library.artistIndex(url.queryParameter("nid"));
+    if (index < 0) {
+      return error(404, "No artist with id " + url.queryParameter("nid"));
+    }
+    String topTracks = url.queryParameter("num-top-tracks");
+    return json(library.artist(index, "true".equals(url.queryParameter("include-albums")),
+        topTracks == null ? 0 : Integer.parseInt(topTracks)));
+  }
+
+  private JsonObject search(HttpUrl url) {
+    String query = url.queryParameter("q") == null ? "" : url.queryParameter("q");
+    String max = url.queryParameter("max-results");
+    int maxResults = max == null ? 50 : Integer.parseInt(max);
+    JsonArray entries = new JsonArray();
+    double score = 1000;
+    for (int index : library.search(query, maxResults)) {
+      JsonObject entry = new JsonObject();
+      entry.addProperty("type", "1");
+      entry.addProperty("score", score--);
+      entry.add("track", library.catalogTrack(index));
+      entries.add(entry);
+    }
+    JsonObject response = new JsonObject();
+    response.addProperty("kind", "sj#searchresponse");
+    response.add("entries", entries);
+    return response;
+  }
+
+  private JsonObject trackStats(JsonObject request) {
+    JsonArray responses = new JsonArray();
+    for (JsonElement stat : request.getAsJsonArray("track_stats")) {
+      JsonObject item = new JsonObject();
+      item.addProperty("id", stat.getAsJsonObject().get("id").getAsString());
+      item.addProperty("response_code", "OK");
+      responses.add(item);
+    }
+    JsonObject response = new JsonObject();
+    response.add("responses", responses);
+    return response;
+  }
+
+  private JsonObject batch(String endpoint, JsonObject request) {
+    JsonArray items = new JsonArray();
+    for (JsonElement element : request.getAsJsonArray("mutations")) {
+      JsonObject mutation = element.getAsJsonObject();
+      JsonObject item = new JsonObject();
+      item.addProperty("id", library.apply(endpoint, mutation));
+      if (mutation.has("create") && mutation.getAsJsonObject("create").has("clientId")) {
+        item.addProperty("client_id", mutation.getAsJsonObject("create").get("clientId").getAsString());
+      }
+      item.addProperty("response_code", "OK");
+      items.add(item);
+    }
+    JsonObject response = new JsonObject();
+    response.add("mutate_response", items);
+    return response;
+  }
+
+  private static JsonObject wrapItems(List<JsonObject> items, String nextPageToken) {
+    JsonArray array = new JsonArray();
+    items.forEach(array::add);
+    JsonObject data = new JsonObject();
+    data.add("items", array);
+    JsonObject response = new JsonObject();
+    response.addProperty("kind", "sj#feed");
+    if (nextPageToken != null) {
+      response.addProperty("nextPageToken", nextPageToken);
+    }
+    response.add("data", data);
+    return response;
+  }
+
+  private static JsonObject keyValue(String key, String value) {
+    JsonObject entry = new JsonObject();
+    entry.addProperty("kind", "sj#configEntry");
+    entry.addProperty("key", key);
+    entry.addProperty("value", value);
+    return entry;
+  }
+
+  private static JsonObject copy(JsonObject object) {
+    JsonObject copy = new JsonObject();
+    object.entrySet().forEach(field -> copy.add(field.getKey(), field.getValue()));
+    return copy;
+  }
+
+  private static JsonObject parseBody(RecordedRequest request) {
+    if (request.getBodySize() == 0) {
+      return null;
+    }
+    JsonElement body = new JsonParser().parse(request.getBody().readUtf8());
+    return body.isJsonObject() ? body.getAsJsonObject() : null;
+  }
+
+  private static MockResponse json(JsonElement body) {
+    return new MockResponse().setHeader("Content-Type", "application/json; charset=UTF-8")
+        .setBody(gson.toJson(body));
+  }
+
+  private static MockResponse error(int code, String message) {
+    JsonObject error = new JsonObject();
+    error.addProperty("code", code);
+    error.addProperty("message", message);
+    JsonObject body = new JsonObject();
+    body.add("error", error);
+    return json(body).setResponseCode(code);
+  }
+
+  /**
+   * Configuration of a {@link FakeGPlayServer}. All setters return this instance.
+   */
+  public static class Settings {
+    private long seed = 42;
+    private int catalogSize = 10000;
+    private int librarySize = 2000;
+    private int playlistCount = 20;
+    private int entriesPerPlaylist = 50;
+    private int stationCount = 10;
+    private int pageSize = 1000;
+    private long latencyMillis = 0;
+    private long latencyJitterMillis = 0;
+    private double errorRate = 0;
+    private int streamBytes = 64 * 1024;
+
+    public long getSeed() {
+      return seed;
+    }
+
+    /**
+     * Seed all generated data is derived from.
+     */
+    public Settings setSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    public int getCatalogSize() {
+      return catalogSize;
+    }
+
+    /**
+     * Amount of store tracks available through search, fetch calls and stations.
+     */
+    public Settings setCatalogSize(int catalogSize) {
+      this.catalogSize = Math.max(1, catalogSize);
+      return this;
+    }
+
+    public int getLibrarySize() {
+      return librarySize;
+    }
+
+    /**
+     * Amount of tracks in the library ({@code trackfeed}).
+     */
+    public Settings setLibrarySize(int librarySize) {
+      this.librarySize = librarySize;
+      return this;
+    }
+
+    public int getPlaylistCount() {
+      return playlistCount;
+    }
+
+    public Settings setPlaylistCount(int playlistCount) {
+      this.playlistCount = playlistCount;
+      return this;
+    }
+
+    public int getEntriesPerPlaylist() {
+      return entriesPerPlaylist;
+    }
+
+    public Settings setEntriesPerPlaylist(int entriesPerPlaylist) {
+      this.entriesPerPlaylist = entriesPerPlaylist;
+      return this;
+    }
+
+    public int getStationCount() {
+      return stationCount;
+    }
+
+    public Settings setStationCount(int stationCount) {
+      this.stationCount = stationCount;
+      return this;
+    }
+
+    public int getPageSize() {
+      return pageSize;
+    }
+
+    /**
+     * Maximum amount of items per feed page. Smaller {@code max-results} of requests are respected.
+     */
+    public Settings setPageSize(int pageSize) {
+      this.pageSize = Math.max(1, pageSize);
+      return this;
+    }
+
+    public long getLatencyMillis() {
+      return latencyMillis;
+    }
+
+    /**
+     * Fixed delay before each response.
+     */
+    public Settings setLatencyMillis(long latencyMillis) {
+      this.latencyMillis = latencyMillis;
+      return this;
+    }
+
+    public long getLatencyJitterMillis() {
+      return latencyJitterMillis;
+    }
+
+    /**
+     * Upper bound of an additional, uniformly distributed delay before each response.
+     */
+    public Settings setLatencyJitterMillis(long latencyJitterMillis) {
+      this.latencyJitterMillis = latencyJitterMillis;
+      return this;
+    }
+
+    public double getErrorRate() {
+      return errorRate;
+    }
+
+    /**
+     * Fraction of api calls answered with 503, between 0 and 1.
+     */
+    public Settings setErrorRate(double errorRate) {
+      this.errorRate = errorRate;
+      return this;
+    }
+
+    public int getStreamBytes() {
+      return streamBytes;
+    }
+
+    /**
+     * Size of the body served for stream urls.
+     */
+    public Settings setStreamBytes(int streamBytes) {
+      this.streamBytes = streamBytes;
+      return this;
+    }
+  }
+}
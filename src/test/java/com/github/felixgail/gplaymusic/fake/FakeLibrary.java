@@ -0,0 +1,484 @@
+package com.github.felixgail.gplaymusic.fake;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic account and catalog data served by {@link FakeGPlayServer}.
+ * <br>
+ * The catalog consists of artists with albums of {@link #TRACKS_PER_ALBUM} tracks each.
+ * The library references catalog tracks (every fourth library track is an upload without store id),
+ * playlists reference catalog tracks and stations are seeded with catalog artists.
+ * All data is generated from {@link FakeGPlayServer.Settings#setSeed(long)}.
+ * Mutations received by the server are applied to playlists and playlist entries.
+ */
+class FakeLibrary {
+  final static int TRACKS_PER_ALBUM = 10;
+  final static int ALBUMS_PER_ARTIST = 4;
+  final static String[] WORDS = {"midnight", "signal", "static", "horizon", "paper", "river", "glass",
+      "echo", "summer", "ghost", "velvet", "north", "light", "wire", "golden", "hollow", "ember", "tide",
+      "neon", "garden", "silver", "city", "storm", "quiet", "fever", "orbit", "canyon", "lantern", "drift", "bloom"};
+  private final static long BASE_TIMESTAMP_MICROS = 1500000000000000L;
+
+  private final String[] catalogTitles;
+  private final List<JsonObject> libraryTracks = new ArrayList<>();
+  private final Map<String, JsonObject> playlists = new LinkedHashMap<>();
+  private final Map<String, JsonObject> entries = new LinkedHashMap<>();
+  private final List<JsonObject> stations = new ArrayList<>();
+  private final Random random;
+  private long modifications = 0;
+
+  FakeLibrary(FakeGPlayServer.Settings settings) {
+    random = new Random(settings.getSeed());
+    catalogTitles = new String[settings.getCatalogSize()];
+    for (int i = 0; i < catalogTitles.length; i++) {
+      catalogTitles[i] = words(2 + random.nextInt(2));
+    }
+    for (int i = 0; i < settings.getLibrarySize(); i++) {
+      int catalogIndex = random.nextInt(catalogTitles.length);
+      JsonObject track = catalogTrack(catalogIndex);
+      track.addProperty("id", uuid());
+      track.addProperty("clientId", uuid());
+      track.addProperty("kind", "sj#track");
+      if (i % 4 == 3) {
+        track.remove("storeId");
+        track.remove("nid");
+        track.addProperty("trackType", "4");
+      }
+      libraryTracks.add(track);
+    }
+    for (int p = 0; p < settings.getPlaylistCount(); p++) {
+      JsonObject playlist = new JsonObject();
+      String id = uuid();
+      playlist.addProperty("kind", "sj#playlist");
+      playlist.addProperty("id", id);
+      playlist.addProperty("name", capitalize(words(2)));
+      playlist.addProperty("type", "USER_GENERATED");
+      playlist.addProperty("shareState", "PRIVATE");
+      playlist.addProperty("deleted", false);
+      playlist.addProperty("ownerName", "Fake User");
+      playlist.addProperty("creationTimestamp", String.valueOf(BASE_TIMESTAMP_MICROS));
+      playlist.addProperty("lastModifiedTimestamp", String.valueOf(BASE_TIMESTAMP_MICROS));
+      playlists.put(id, playlist);
+      for (int e = 0; e < settings.getEntriesPerPlaylist(); e++) {
+        JsonObject entry = entry(id, catalogID(random.nextInt(catalogTitles.length)), uuid(),
+            String.format("%020d", (e + 1) * 1000000L));
+        entries.put(entry.get("id").getAsString(), entry);
+      }
+    }
+    for (int s = 0; s < settings.getStationCount(); s++) {
+      int artist = random.nextInt(getArtistCount());
+      JsonObject station = new JsonObject();
+      station.addProperty("kind", "sj#radioStation");
+      station.addProperty("id", uuid());
+      station.addProperty("clientId", uuid());
+      station.addProperty("name", artistName(artist) + " Radio");
+      station.addProperty("deleted", false);
+      station.addProperty("lastModifiedTimestamp", String.valueOf(BASE_TIMESTAMP_MICROS));
+      station.addProperty("recentTimestamp", String.valueOf(BASE_TIMESTAMP_MICROS));
+      JsonObject seed = new JsonObject();
+      seed.addProperty("kind", "sj#radioSeed");
+      seed.addProperty("seedType", "3");
+      seed.addProperty("artistId", artistID(artist));
+      station.add("seed", seed);
+      stations.add(station);
+    }
+  }
+
+  int getCatalogSize() {
+    return catalogTitles.length;
+  }
+
+  int getArtistCount() {
+    return (getAlbumCount() + ALBUMS_PER_ARTIST - 1) / ALBUMS_PER_ARTIST;
+  }
+
+  int getAlbumCount() {
+    return (catalogTitles.length + TRACKS_PER_ALBUM - 1) / TRACKS_PER_ALBUM;
+  }
+
+  synchronized List<JsonObject> getLibraryTracks() {
+    return new ArrayList<>(libraryTracks);
+  }
+
+  synchronized List<JsonObject> getPlaylists() {
+    return new ArrayList<>(playlists.values());
+  }
+
+  synchronized List<JsonObject> getEntries() {
+    return new ArrayList<>(entries.values());
+  }
+
+  synchronized List<JsonObject> getStations() {
+    return new ArrayList<>(stations);
+  }
+
+  synchronized JsonObject getStation(String id) {
+    return stations.stream().filter(s -> s.get("id").getAsString().equals(id)).findFirst().orElse(null);
+  }
+
+  static String catalogID(int index) {
+    return String.format("T%026d", index);
+  }
+
+  static String albumID(int index) {
+    return String.format("B%026d", index);
+  }
+
+  static String artistID(int index) {
+    return String.format("A%026d", index);
+  }
+
+  /**
+   * @return the catalog index of a track id or -1 if the id does not belong to a catalog track.
+   */
+  int catalogIndex(String trackID) {
+    return parseIndex(trackID, 'T', catalogTitles.length);
+  }
+
+  int albumIndex(String albumID) {
+    return parseIndex(albumID, 'B', getAlbumCount());
+  }
+
+  int artistIndex(String artistID) {
+    return parseIndex(artistID, 'A', getArtistCount());
+  }
+
+  JsonObject catalogTrack(int index) {
+    int album = index / TRACKS_PER_ALBUM;
+    int artist = album / ALBUMS_PER_ARTIST;
+    JsonObject track = new JsonObject();
+    track.addProperty("kind", "sj#track");
+    track.addProperty("title", capitalize(catalogTitles[index]));
+    track.addProperty("artist", artistName(artist));
+    track.addProperty("composer", "");
+    track.addProperty("album", albumName(album));
+    track.addProperty("albumArtist", artistName(artist));
+    track.addProperty("year", 1990 + album % 30);
+    track.addProperty("trackNumber", index % TRACKS_PER_ALBUM + 1);
+    track.addProperty("genre", "Indie Rock");
+    track.addProperty("durationMillis", String.valueOf(150000 + (index * 7919L) % 180000));
+    track.add("albumArtRef", artRefs("http://fake.gplaymusic.local/art/album/" + album));
+    track.add("artistArtRef", artRefs("http://fake.gplaymusic.local/art/artist/" + artist));
+    track.addProperty("discNumber", 1);
+    track.addProperty("totalTrackCount", TRACKS_PER_ALBUM);
+    track.addProperty("totalDiscCount", 1);
+    track.addProperty("estimatedSize", "9665283");
+    track.addProperty("trackType", "8");
+    track.addProperty("storeId", catalogID(index));
+    track.addProperty("nid", catalogID(index));
+    track.addProperty("albumId", albumID(album));
+    JsonArray artistIDs = new JsonArray();
+    artistIDs.add(artistID(artist));
+    track.add("artistId", artistIDs);
+    track.addProperty("trackAvailableForSubscription", true);
+    track.addProperty("trackAvailableForPurchase", true);
+    track.addProperty("albumAvailableForPurchase", false);
+    track.addProperty("explicitType", "2");
+    track.addProperty("playCount", (int) (index % 50));
+    return track;
+  }
+
+  JsonObject album(int index, boolean includeTracks) {
+    int artist = index / ALBUMS_PER_ARTIST;
+    JsonObject album = new JsonObject();
+    album.addProperty("kind", "sj#album");
+    album.addProperty("name", albumName(index));
+    album.addProperty("albumArtist", artistName(artist));
+    album.addProperty("albumArtRef", "http://fake.gplaymusic.local/art/album/" + index);
+    album.addProperty("albumId", albumID(index));
+    album.addProperty("artist", artistName(artist));
+    JsonArray artistIDs = new JsonArray();
+    artistIDs.add(artistID(artist));
+    album.add("artistId", artistIDs);
+    album.addProperty("year", 1990 + index % 30);
+    album.addProperty("explicitType", "2");
+    if (includeTracks) {
+      JsonArray tracks = new JsonArray();
+      int first = index * TRACKS_PER_ALBUM;
+      for (int i = first; i < Math.min(first + TRACKS_PER_ALBUM, catalogTitles.length); i++) {
+        tracks.add(catalogTrack(i));
+      }
+      album.add("tracks", tracks);
+    }
+    return album;
+  }
+
+  /**
+   * @return one album and one station suggestion, both derived from the first album of the catalog.
+   */
+  JsonObject listenNowItems() {
+    JsonObject metajamID = new JsonObject();
+    metajamID.addProperty("metajamCompactKey", albumID(0));
+    metajamID.addProperty("artist", artistName(0));
+    metajamID.addProperty("title", albumName(0));
+    JsonObject album = new JsonObject();
+    album.addProperty("artist_metajam_id", artistID(0));
+    album.addProperty("artist_name", artistName(0));
+    album.addProperty("title", albumName(0));
+    album.add("id", metajamID);
+    JsonObject albumItem = new JsonObject();
+    albumItem.addProperty("suggestion_reason", "1");
+    albumItem.add("album", album);
+
+    JsonObject seed = new JsonObject();
+    seed.addProperty("seedType", "3");
+    seed.addProperty("artistId", artistID(0));
+    JsonArray seeds = new JsonArray();
+    seeds.add(seed);
+    JsonObject stationID = new JsonObject();
+    stationID.add("seeds", seeds);
+    JsonObject station = new JsonObject();
+    station.addProperty("title", artistName(0) + " Radio");
+    station.add("id", stationID);
+    JsonObject stationItem = new JsonObject();
+    stationItem.addProperty("suggestion_reason", "2");
+    stationItem.add("radio_station", station);
+
+    JsonArray items = new JsonArray();
+    items.add(albumItem);
+    items.add(stationItem);
+    JsonObject response = new JsonObject();
+    response.add("listennow_items", items);
+    return response;
+  }
+
+  JsonObject artist(int index, boolean includeAlbums, int topTracks) {
+    JsonObject artist = new JsonObject();
+    artist.addProperty("kind", "sj#artist");
+    artist.addProperty("name", artistName(index));
+    artist.addProperty("artistArtRef", "http://fake.gplaymusic.local/art/artist/" + index);
+    artist.addProperty("artistId", artistID(index));
+    int firstAlbum = index * ALBUMS_PER_ARTIST;
+    int lastAlbum = Math.min(firstAlbum + ALBUMS_PER_ARTIST, getAlbumCount());
+    artist.addProperty("total_albums", lastAlbum - firstAlbum);
+    if (includeAlbums) {
+      JsonArray albums = new JsonArray();
+      for (int i = firstAlbum; i < lastAlbum; i++) {
+        albums.add(album(i, false));
+      }
+      artist.add("albums", albums);
+    }
+    if (topTracks > 0) {
+      JsonArray tracks = new JsonArray();
+      int first = firstAlbum * TRACKS_PER_ALBUM;
+      for (int i = first; i < Math.min(first + topTracks, catalogTitles.length); i++) {
+        tracks.add(catalogTrack(i));
+      }
+      artist.add("topTracks", tracks);
+    }
+    return artist;
+  }
+
+  /**
+   * @return indexes of catalog tracks whose title, album or artist contains {@code query}.
+   */
+  List<Integer> search(String query, int maxResults) {
+    String needle = query.toLowerCase(Locale.ENGLISH);
+    List<Integer> hits = new ArrayList<>();
+    for (int i = 0; i < catalogTitles.length && hits.size() < maxResults; i++) {
+      int album = i / TRACKS_PER_ALBUM;
+      if (catalogTitles[i].contains(needle) || albumName(album).toLowerCase(Locale.ENGLISH).contains(needle)
+          || artistName(album / ALBUMS_PER_ARTIST).toLowerCase(Locale.ENGLISH).contains(needle)) {
+        hits.add(i);
+      }
+    }
+    return hits;
+  }
+
+  /**
+   * @return {@code count} pseudo random catalog tracks for a station.
+   */
+  List<JsonObject> stationTracks(JsonObject station, int count, long call) {
+    Random stationRandom = new Random(station.get("id").getAsString().hashCode() * 31L + call);
+    List<JsonObject> tracks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      JsonObject track = catalogTrack(stationRandom.nextInt(catalogTitles.length));
+      track.addProperty("wentryid", uuid());
+      tracks.add(track);
+    }
+    return tracks;
+  }
+
+  /**
+   * Applies a single mutation of a batch call.
+   *
+   * @return the id of the created or changed item.
+   */
+  synchronized String apply(String batch, JsonObject mutation) {
+    modifications++;
+    if (mutation.has("create")) {
+      JsonObject create = mutation.getAsJsonObject("create");
+      String id = uuid();
+      if (batch.startsWith("plentries")) {
+        entries.put(id, entry(create.get("playlistId").getAsString(), create.get("trackId").getAsString(),
+            id, String.format("%020d", BASE_TIMESTAMP_MICROS + modifications)));
+        if (create.has("clientId")) {
+          entries.get(id).addProperty("clientId", create.get("clientId").getAsString());
+        }
+        position(entries.get(id), create);
+      } else if (batch.startsWith("playlist")) {
+        JsonObject playlist = new JsonObject();
+        for (Map.Entry<String, JsonElement> field : create.entrySet()) {
+          playlist.add(field.getKey(), field.getValue());
+        }
+        playlist.addProperty("id", id);
+        playlist.addProperty("kind", "sj#playlist");
+        playlist.addProperty("type", "USER_GENERATED");
+        playlists.put(id, playlist);
+      }
+      return id;
+    }
+    if (mutation.has("delete")) {
+      String id = mutation.get("delete").getAsString();
+      if (batch.startsWith("plentries")) {
+        entries.remove(id);
+      } else if (batch.startsWith("playlist")) {
+        playlists.remove(id);
+        entries.values().removeIf(entry -> entry.get("playlistId").getAsString().equals(id));
+      }
+      return id;
+    }
+    if (mutation.has("update")) {
+      JsonObject update = mutation.getAsJsonObject("update");
+      String id = update.has("id") ? update.get("id").getAsString() : uuid();
+      JsonObject target = batch.startsWith("plentries") ? entries.get(id)
+          : batch.startsWith("playlist") ? playlists.get(id) : null;
+      if (target != null) {
+        for (Map.Entry<String, JsonElement> field : update.entrySet()) {
+          target.add(field.getKey(), field.getValue());
+        }
+        if (batch.startsWith("plentries")) {
+          position(target, update);
+        }
+      }
+      return id;
+    }
+    return uuid();
+  }
+
+  /**
+   * Places a playlist entry between the entries referenced by client id in {@code precedingEntryId} and
+   * {@code followingEntryId}. References to unknown entries are ignored, like references to entries created later
+   * in the same batch.
+   */
+  private void position(JsonObject entry, JsonObject mutation) {
+    String playlistID = entry.get("playlistId").getAsString();
+    List<JsonObject> ordered = entries.values().stream()
+        .filter(other -> other != entry && other.get("playlistId").getAsString().equals(playlistID))
+        .sorted(Comparator.comparing(other -> other.get("absolutePosition").getAsString()))
+        .collect(Collectors.toList());
+    int before = indexOfClientID(ordered, mutation, "precedingEntryId");
+    int after = indexOfClientID(ordered, mutation, "followingEntryId");
+    if (before < 0 && after < 0) {
+      return;
+    }
+    if (after < 0) {
+      after = before + 1;
+    } else if (before < 0) {
+      before = after - 1;
+    }
+    BigInteger low = before < 0 ? BigInteger.ZERO : new BigInteger(ordered.get(before).get("absolutePosition")
+        .getAsString());
+    BigInteger high = after >= ordered.size() ? low.add(BigInteger.valueOf(2000000))
+        : new BigInteger(ordered.get(after).get("absolutePosition").getAsString());
+    entry.addProperty("absolutePosition", String.format("%020d", low.add(high).shiftRight(1)));
+  }
+
+  private static int indexOfClientID(List<JsonObject> entries, JsonObject mutation, String key) {
+    if (!mutation.has(key) || mutation.get(key).isJsonNull()) {
+      return -1;
+    }
+    String clientID = mutation.get(key).getAsString();
+    for (int i = 0; i < entries.size(); i++) {
+      if (entries.get(i).has("clientId") && clientID.equals(entries.get(i).get("clientId").getAsString())) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private JsonObject entry(String playlistID, String trackID, String id, String position) {
+    JsonObject entry = new JsonObject();
+    entry.addProperty("kind", "sj#playlistEntry");
+    entry.addProperty("id", id);
+    entry.addProperty("clientId", uuid());
+    entry.addProperty("playlistId", playlistID);
+    entry.addProperty("absolutePosition", position);
+    entry.addProperty("trackId", trackID);
+    entry.addProperty("creationTimestamp", String.valueOf(BASE_TIMESTAMP_MICROS));
+    entry.addProperty("lastModifiedTimestamp", String.valueOf(BASE_TIMESTAMP_MICROS));
+    entry.addProperty("deleted", false);
+    entry.addProperty("source", trackID.startsWith("T") ? "2" : "1");
+    return entry;
+  }
+
+  private String albumName(int album) {
+    return capitalize(WORDS[(album * 7) % WORDS.length] + " " + WORDS[(album * 13 + 3) % WORDS.length]);
+  }
+
+  private String artistName(int artist) {
+    return "The " + capitalize(WORDS[(artist * 11 + 5) % WORDS.length]) + "s " + artist;
+  }
+
+  private synchronized String uuid() {
+    return new UUID(random.nextLong(), random.nextLong()).toString();
+  }
+
+  private String words(int count) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        builder.append(' ');
+      }
+      builder.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return builder.toString();
+  }
+
+  private static JsonArray artRefs(String url) {
+    JsonObject ref = new JsonObject();
+    ref.addProperty("kind", "sj#imageRef");
+    ref.addProperty("url", url);
+    ref.addProperty("aspectRatio", "1");
+    ref.add("autogen", new JsonPrimitive(false));
+    JsonArray refs = new JsonArray();
+    refs.add(ref);
+    return refs;
+  }
+
+  private static String capitalize(String words) {
+    StringBuilder builder = new StringBuilder(words.length());
+    boolean upper = true;
+    for (char c : words.toCharArray()) {
+      builder.append(upper ? Character.toUpperCase(c) : c);
+      upper = c == ' ';
+    }
+    return builder.toString();
+  }
+
+  private static int parseIndex(String id, char prefix, int size) {
+    if (id == null || id.length() != 27 || id.charAt(0) != prefix) {
+      return -1;
+    }
+    try {
+      int index = Integer.parseInt(id.substring(1));
+      return index < size ? index : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
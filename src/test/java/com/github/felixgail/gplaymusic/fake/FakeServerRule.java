@@ -0,0 +1,68 @@
+package com.github.felixgail.gplaymusic.fake;
+
+import com.github.felixgail.gplaymusic.api.GPlayMusic;
+import org.junit.rules.ExternalResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Starts a {@link FakeGPlayServer} and an api connected to it for a test class and closes both afterwards.
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * @ClassRule
+ * public final static FakeServerRule fake = new FakeServerRule(new FakeGPlayServer.Settings().setLatencyMillis(100));
+ * }</pre>
+ */
+public class FakeServerRule extends ExternalResource {
+  private final FakeGPlayServer.Settings settings;
+  private FakeGPlayServer server;
+  private GPlayMusic api;
+
+  public FakeServerRule() {
+    this(new FakeGPlayServer.Settings());
+  }
+
+  public FakeServerRule(FakeGPlayServer.Settings settings) {
+    this.settings = settings;
+  }
+
+  @Override
+  protected void before() throws IOException {
+    server = new FakeGPlayServer(settings);
+    server.start();
+    api = server.newApiBuilder().build();
+  }
+
+  @Override
+  protected void after() {
+    try {
+      api.close();
+    } finally {
+      try {
+        server.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  public FakeGPlayServer getServer() {
+    return server;
+  }
+
+  /**
+   * @return the api shared by all tests of the class. Tests that modify its caches should use {@link #newApi()}.
+   */
+  public GPlayMusic getApi() {
+    return api;
+  }
+
+  /**
+   * @return a new api with its own caches, connected to the same server. Has to be closed by the caller.
+   */
+  public GPlayMusic newApi() {
+    return server.newApiBuilder().build();
+  }
+}